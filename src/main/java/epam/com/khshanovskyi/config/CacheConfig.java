@@ -0,0 +1,58 @@
+package epam.com.khshanovskyi.config;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import epam.com.khshanovskyi.dto.CryptoPage;
+import epam.com.khshanovskyi.dto.PriceRange;
+
+/**
+ * This is Configuration class that contains bean of {@link CacheManager}.
+ * Each cache is bounded separately by the total amount of cached rows (Caffeine evicts entries by W-TinyLFU policy),
+ * entries expire after write, so stale results are dropped even if changes of files are not watched, and hit, miss
+ * and eviction counters are recorded for each cache. Concurrent misses of the same key of
+ * {@code @Cacheable(sync = true)} are coalesced by Caffeine itself: the value is computed once per key and other
+ * callers wait for it.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${cache.maximum.weight.rows}")
+    private long maximumWeightInRows;
+    @Value("${cache.expire.after.write.minutes}")
+    private long expireAfterWriteMinutes;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+          .maximumWeight(maximumWeightInRows)
+          .weigher(CacheConfig::weighInRows)
+          .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+          .recordStats());
+        return cacheManager;
+    }
+
+    /**
+     * @return amount of rows kept by the cached <b>value</b>, at least 1
+     */
+    static int weighInRows(Object key, Object value) {
+        int rows = 1;
+        if (value instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (value instanceof CryptoPage page) {
+            rows = page.cryptos().size();
+        } else if (value instanceof PriceRange) {
+            rows = 2;
+        }
+        return Math.max(1, rows);
+    }
+}
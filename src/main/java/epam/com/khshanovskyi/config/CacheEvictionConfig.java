@@ -1,12 +1,31 @@
 package epam.com.khshanovskyi.config;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import epam.com.khshanovskyi.dto.CacheStatistics;
+import epam.com.khshanovskyi.dto.CoalescingStatistics;
+import epam.com.khshanovskyi.service.WarmUpService;
+import epam.com.khshanovskyi.store.CryptoFileChangedEvent;
+import epam.com.khshanovskyi.store.CryptoFilesWatcher;
+import epam.com.khshanovskyi.store.DatasetVersions;
+import epam.com.khshanovskyi.store.PriceStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,22 +37,147 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CacheEvictionConfig {
 
+    private static final String BY_NAME_CACHE_SUFFIX = "-by-name";
+    private static final String RANGE_CACHE_SUFFIX = "-range";
+    private static final String PRICE_STORE_LOADS_NAME = "price-store-files";
+
     @Value("${cache.name.for.parsed.dto.name.for.eviction}")
     private String cacheNameForParsedDto;
     private final CacheManager cacheManager;
+    private final PriceStore priceStore;
+    private final CryptoFilesWatcher cryptoFilesWatcher;
+    private final WarmUpService warmUpService;
+    private final ExecutorService refreshExecutor = createRefreshExecutor();
+
+    /**
+     * Refresh by schedule is needed only in case if changes of files are not watched by {@link CryptoFilesWatcher}.
+     */
+    @Scheduled(cron = "${store.refresh.cron}")
+    public void refreshBySchedule() {
+        if (cryptoFilesWatcher.isRunning()) {
+            log.trace("Changes of files are watched, scheduled refresh is skipped");
+            return;
+        }
+        refreshCachesForParsedDtoFromFiles();
+    }
+
+    /**
+     * Start {@link #refreshCachesForParsedDtoFromFiles()} in background, in case if refresh is already running only
+     * one more refresh is queued, so frequent calls are coalesced.
+     */
+    public void refreshCachesForParsedDtoFromFilesAsync() {
+        refreshExecutor.execute(this::refreshCachesForParsedDtoFromFiles);
+    }
+
+    /**
+     * Refresh-ahead of all data: {@link PriceStore} builds registry, series and rankings aside and publishes them at
+     * once along with the new {@link DatasetVersions}. Cached results are keyed by the version of the data they are
+     * computed from, so the most requested results of the new versions are computed by {@link WarmUpService} against
+     * the refreshed data before it is published, while readers get results of the previous versions. Entries of
+     * previous versions are evicted only after the new data is published, so readers never miss them in between.
+     */
+    public synchronized void refreshCachesForParsedDtoFromFiles() {
+        log.debug("Start refresh of stores and caches for parsed files into DTOs...");
+        long start = System.currentTimeMillis();
+        priceStore.refresh(warmUpService::fillCaches);
+        evictEntriesOfPreviousVersions();
+
+        log.debug("Stores and caches for parsed files into DTOs are refreshed in [{}] ms",
+          System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return {@link List} of {@link CacheStatistics} of caches for parsed files sorted by name
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        return cacheManager.getCacheNames()
+          .stream()
+          .filter(cacheName -> cacheName.startsWith(cacheNameForParsedDto))
+          .sorted()
+          .map(cacheManager::getCache)
+          .filter(cache -> Objects.nonNull(cache) &&
+            cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>)
+          .map(cache -> toCacheStatistics(cache.getName(),
+            (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()))
+          .toList();
+    }
+
+    /**
+     * Results of caches for parsed files are coalesced by Caffeine per key, so only loads of files of
+     * {@link PriceStore} are counted.
+     *
+     * @return {@link List} of {@link CoalescingStatistics} of loads of files of {@link PriceStore}
+     */
+    public List<CoalescingStatistics> getCoalescingStatistics() {
+        return List.of(new CoalescingStatistics(PRICE_STORE_LOADS_NAME, priceStore.getSeriesLoads().getExecutionCount(),
+          priceStore.getSeriesLoads().getCoalescedCount()));
+    }
+
+    private CacheStatistics toCacheStatistics(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction()
+          .map(eviction -> eviction.weightedSize().orElse(0L))
+          .orElse(0L);
+        return new CacheStatistics(name, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+          stats.evictionWeight(), cache.estimatedSize(), weight);
+    }
+
+    /**
+     * {@link PriceStore} publishes the change of the file before the event, so cached entries computed from the
+     * previous data of the file are not requested anymore and only evicted to free the cache. Eviction is serialized
+     * with {@link #refreshCachesForParsedDtoFromFiles()}.
+     */
+    @EventListener
+    public synchronized void evictCachesForChangedFile(CryptoFileChangedEvent event) {
+        log.debug("Evict cached entries of previous versions after change of the file [{}]", event.fileName());
+        evictEntriesOfPreviousVersions();
+    }
 
-    @Scheduled(cron ="${cache.eviction.cron.once.per.day}")
-    public void evictCachesForParsedDtoFromFiles() {
-        log.debug("Start eviction caches for parsed files into DTOs...");
+    /**
+     * Keys of cached entries start with the version of the data: [version, cryptoName, ...] of by-name and range caches
+     * take the version of the symbol, [version, ...] of other caches take the version of the whole dataset.
+     */
+    private void evictEntriesOfPreviousVersions() {
         cacheManager.getCacheNames()
           .stream()
           .filter(cacheName -> cacheName.startsWith(cacheNameForParsedDto))
-          .forEach(cacheName -> {
-              Objects.requireNonNull(cacheManager.getCache(cacheName)).clear();
-              log.trace("Eviction for cache with the name {}", cacheName);
+          .map(cacheManager::getCache)
+          .filter(Objects::nonNull)
+          .forEach(cache -> {
+              boolean bySymbol = cache.getName().endsWith(BY_NAME_CACHE_SUFFIX) ||
+                cache.getName().endsWith(RANGE_CACHE_SUFFIX);
+              evictIf(cache, key -> !isOfActualVersion(key, bySymbol));
+              log.trace("Entries of previous versions are evicted from the cache with the name {}", cache.getName());
           });
+    }
+
+    private boolean isOfActualVersion(Object key, boolean bySymbol) {
+        if (!(key instanceof List<?> params) || params.isEmpty()) {
+            return false;
+        }
+        long actualVersion = bySymbol && params.size() > 1 ?
+          priceStore.getVersion(params.get(1) instanceof String cryptoName ? cryptoName : null) :
+          priceStore.getVersion();
+        return Long.valueOf(actualVersion).equals(params.get(0));
+    }
+
+    private static ExecutorService createRefreshExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("crypto-refresh-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), threadFactory,
+          new ThreadPoolExecutor.DiscardPolicy());
+    }
 
-        log.debug("Caches for parsed files into DTOs are successfully evicted!");
+    @SuppressWarnings("unchecked")
+    private void evictIf(Cache cache, Predicate<Object> keyPredicate) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet()
+              .removeIf(keyPredicate);
+        } else if (cache.getNativeCache() instanceof ConcurrentMap<?, ?> nativeCache) {
+            ((ConcurrentMap<Object, Object>) nativeCache).keySet().removeIf(keyPredicate);
+        } else {
+            cache.clear();
+        }
     }
 
 }
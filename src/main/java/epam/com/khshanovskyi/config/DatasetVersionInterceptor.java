@@ -0,0 +1,114 @@
+package epam.com.khshanovskyi.config;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import epam.com.khshanovskyi.store.CryptoFilesWatcher;
+import epam.com.khshanovskyi.store.DatasetVersion;
+import epam.com.khshanovskyi.store.PriceStore;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conditional GET for Crypto advice: each successful response carries 'ETag' and 'Last-Modified' of the
+ * {@link DatasetVersion} the response is built from, and in case if 'If-None-Match' (or 'If-Modified-Since') of the
+ * request is still actual, 304 is sent before the handler is called, so neither caches nor service are touched and
+ * nothing is serialized. Otherwise the version is kept in the request and written only into 2xx responses by
+ * {@link DatasetVersionResponseAdvice} (see {@link #addVersionHeaders(HttpServletRequest, HttpHeaders)}), so error
+ * responses never carry it.
+ * <br>
+ * Version is taken before the handler is called, so in case if the data is changed during the request, the response
+ * carries the previous version and the next request gets the actual data.
+ * Requests with 'name' use version of the series of the symbol (only months in range ['from', 'to'] if both are
+ * passed as timestamps), other requests use version of the whole dataset.
+ * <br>
+ * In case if changes of files are not watched by {@link CryptoFilesWatcher}, loaded files are revalidated by
+ * {@link PriceStore#revalidate()} before the version is taken, at most once per <b>revalidationInterval</b>, so file
+ * system is not read on each request, and 304 is not sent for the changed file longer than the interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatasetVersionInterceptor implements HandlerInterceptor {
+
+    private static final Pattern TIMESTAMP = Pattern.compile("-?\\d{1,18}");
+    private static final String VERSION_ATTRIBUTE = DatasetVersionInterceptor.class.getName() + ".version";
+
+    @Value("${revalidation.interval.ms}")
+    private long revalidationInterval;
+    private final PriceStore priceStore;
+    private final CryptoFilesWatcher cryptoFilesWatcher;
+    private final AtomicLong lastRevalidation = new AtomicLong();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        DatasetVersion version = getVersion(request);
+        if (new ServletWebRequest(request).checkNotModified(toETag(version), version.lastModified())) {
+            // the same check with the response sends 304 with the headers of the version
+            new ServletWebRequest(request, response).checkNotModified(toETag(version), version.lastModified());
+            return false;
+        }
+        request.setAttribute(VERSION_ATTRIBUTE, version);
+        return true;
+    }
+
+    /**
+     * Add 'ETag' and 'Last-Modified' of the version taken for the <b>request</b> into <b>headers</b> of its response,
+     * nothing is added in case if the request is not intercepted.
+     */
+    public static void addVersionHeaders(HttpServletRequest request, HttpHeaders headers) {
+        if (request.getAttribute(VERSION_ATTRIBUTE) instanceof DatasetVersion version) {
+            headers.setETag(toETag(version));
+            headers.setLastModified(version.lastModified());
+        }
+    }
+
+    static String toETag(DatasetVersion version) {
+        return "\"" + Long.toString(version.number(), Character.MAX_RADIX) + "\"";
+    }
+
+    private DatasetVersion getVersion(HttpServletRequest request) {
+        revalidate();
+        String symbol = request.getParameter("name");
+        if (!StringUtils.hasText(symbol)) {
+            return priceStore.getVersions().get();
+        }
+        String from = request.getParameter("from");
+        String to = request.getParameter("to");
+        if (!isTimestamp(from) || !isTimestamp(to)) {
+            return priceStore.getVersions().get(symbol);
+        }
+        // rows of the month folder can be a bit out of the month in the time zone of the system
+        return priceStore.getVersions().get(symbol, toMonth(from).minusMonths(1), toMonth(to).plusMonths(1));
+    }
+
+    private void revalidate() {
+        if (cryptoFilesWatcher.isRunning()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastRevalidation.get();
+        if (now - last >= revalidationInterval && lastRevalidation.compareAndSet(last, now)) {
+            priceStore.revalidate();
+        }
+    }
+
+    private static boolean isTimestamp(String value) {
+        return StringUtils.hasText(value) && TIMESTAMP.matcher(value.trim()).matches();
+    }
+
+    private static YearMonth toMonth(String timestamp) {
+        return YearMonth.from(Instant.ofEpochMilli(Long.parseLong(timestamp.trim())).atZone(ZoneId.systemDefault()));
+    }
+}
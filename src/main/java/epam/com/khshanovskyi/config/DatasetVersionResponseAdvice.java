@@ -0,0 +1,38 @@
+package epam.com.khshanovskyi.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes 'ETag' and 'Last-Modified' of the version taken by {@link DatasetVersionInterceptor} right before the body of
+ * the response is written, only in case if the status of the response is 2xx, so responses of exception handlers never
+ * carry the version.
+ */
+@ControllerAdvice
+public class DatasetVersionResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest &&
+          response instanceof ServletServerHttpResponse servletResponse &&
+          HttpStatus.Series.resolve(servletResponse.getServletResponse().getStatus()) == HttpStatus.Series.SUCCESSFUL) {
+            DatasetVersionInterceptor.addVersionHeaders(servletRequest.getServletRequest(), response.getHeaders());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,22 @@
+package epam.com.khshanovskyi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers {@link DatasetVersionInterceptor} for Crypto advice endpoints.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final DatasetVersionInterceptor datasetVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(datasetVersionInterceptor).addPathPatterns("/advice/**");
+    }
+}
@@ -19,7 +19,7 @@ public class CacheEvictionController {
     //TODO: add security
     @GetMapping(value = "/for-crypto-advice")
     public String evictCachesForAdvice() {
-        cacheEvictionConfig.evictCachesForParsedDtoFromFiles();
-        return "Cache for Crypto advice successfully evicted!";
+        cacheEvictionConfig.refreshCachesForParsedDtoFromFilesAsync();
+        return "Refresh of cache for Crypto advice is started!";
     }
 }
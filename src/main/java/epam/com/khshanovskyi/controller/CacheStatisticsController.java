@@ -0,0 +1,34 @@
+package epam.com.khshanovskyi.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import epam.com.khshanovskyi.config.CacheEvictionConfig;
+import epam.com.khshanovskyi.dto.CacheStatistics;
+import epam.com.khshanovskyi.dto.CoalescingStatistics;
+import lombok.RequiredArgsConstructor;
+import springfox.documentation.annotations.ApiIgnore;
+
+@RestController
+@RequestMapping("cache/statistics")
+@RequiredArgsConstructor
+@ApiIgnore
+public class CacheStatisticsController {
+
+    private final CacheEvictionConfig cacheEvictionConfig;
+
+    //TODO: add security
+    @GetMapping(value = "/for-crypto-advice")
+    public List<CacheStatistics> getCacheStatisticsForAdvice() {
+        return cacheEvictionConfig.getCacheStatistics();
+    }
+
+    //TODO: add security
+    @GetMapping(value = "/coalescing")
+    public List<CoalescingStatistics> getCoalescingStatistics() {
+        return cacheEvictionConfig.getCoalescingStatistics();
+    }
+}
@@ -2,19 +2,38 @@ package epam.com.khshanovskyi.controller;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import epam.com.khshanovskyi.config.DatasetVersionInterceptor;
+import epam.com.khshanovskyi.dto.Candle;
 import epam.com.khshanovskyi.dto.Crypto;
+import epam.com.khshanovskyi.dto.CryptoPage;
 import epam.com.khshanovskyi.dto.NormalizedCrypto;
+import epam.com.khshanovskyi.dto.PriceRange;
+import epam.com.khshanovskyi.dto.RollingStatistic;
 import epam.com.khshanovskyi.service.CryptoService;
+import epam.com.khshanovskyi.store.CandleResolution;
+import epam.com.khshanovskyi.store.RankingWindow;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -27,11 +46,13 @@ import lombok.RequiredArgsConstructor;
 public class CryptoAdviceController {
 
     private final CryptoService cryptoService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/oldest", produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Get oldest Crypto info",
       notes = "Get oldest Crypto info from the last presented month by passed Crypto name. \n" +
         "If name is not present then will take the oldest one from each existing file in the system. \n" +
+        "If 'limit' is passed then only the first 'limit' values are returned. \n" +
         "Returns array with Crypto information")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
@@ -40,8 +61,14 @@ public class CryptoAdviceController {
     })
     public List<Crypto> getOldest(@RequestParam(name = "name", required = false)
                                   @ApiParam(name = "name", example = "BTC")
-                                  String cryptoName) {
-        return Objects.isNull(cryptoName) ? cryptoService.getOldest() : List.of(cryptoService.getOldest(cryptoName));
+                                  String cryptoName,
+                                  @RequestParam(name = "limit", required = false)
+                                  @ApiParam(name = "limit", example = "10")
+                                  Integer limit) {
+        if (Objects.nonNull(cryptoName)) {
+            return List.of(cryptoService.getOldest(cryptoName));
+        }
+        return Objects.isNull(limit) ? cryptoService.getOldest() : cryptoService.getOldest(limit);
     }
 
 
@@ -49,6 +76,7 @@ public class CryptoAdviceController {
     @ApiOperation(value = "Get newest Crypto info",
       notes = "Get newest Crypto info from the last presented month by passed Crypto name. \n " +
         "If name is not present then will take the newest one from each existing file in the system. \n" +
+        "If 'limit' is passed then only the first 'limit' values are returned. \n" +
         "Returns array with Crypto information")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
@@ -57,14 +85,21 @@ public class CryptoAdviceController {
     })
     public List<Crypto> getNewest(@RequestParam(name = "name", required = false)
                                   @ApiParam(name = "name", example = "BTC")
-                                  String cryptoName) {
-        return Objects.isNull(cryptoName) ? cryptoService.getNewest() : List.of(cryptoService.getNewest(cryptoName));
+                                  String cryptoName,
+                                  @RequestParam(name = "limit", required = false)
+                                  @ApiParam(name = "limit", example = "10")
+                                  Integer limit) {
+        if (Objects.nonNull(cryptoName)) {
+            return List.of(cryptoService.getNewest(cryptoName));
+        }
+        return Objects.isNull(limit) ? cryptoService.getNewest() : cryptoService.getNewest(limit);
     }
 
     @GetMapping(value = "/price/max", produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Get Crypto info with max price.",
       notes = "Get Crypto info with max price from the last presented month by passed Crypto name. \n" +
         "If name is not present then will take one with max price from each existing file in the system. \n" +
+        "If 'limit' is passed then only the first 'limit' values are returned. \n" +
         "Returns array with Crypto information")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
@@ -73,15 +108,21 @@ public class CryptoAdviceController {
     })
     public List<Crypto> getWithMaxPrice(@RequestParam(name = "name", required = false)
                                         @ApiParam(name = "name", example = "BTC")
-                                        String cryptoName) {
-        return Objects.isNull(cryptoName) ? cryptoService.getMaxByPrice() :
-          List.of(cryptoService.getMaxByPrice(cryptoName));
+                                        String cryptoName,
+                                        @RequestParam(name = "limit", required = false)
+                                        @ApiParam(name = "limit", example = "10")
+                                        Integer limit) {
+        if (Objects.nonNull(cryptoName)) {
+            return List.of(cryptoService.getMaxByPrice(cryptoName));
+        }
+        return Objects.isNull(limit) ? cryptoService.getMaxByPrice() : cryptoService.getMaxByPrice(limit);
     }
 
     @GetMapping(value = "/price/min", produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Get Crypto info with min price.",
       notes = "Get Crypto info with min price from the last presented month by passed Crypto name. \n" +
         "If name is not present then will take one with min price from each existing file in the system. \n" +
+        "If 'limit' is passed then only the first 'limit' values are returned. \n" +
         "Returns array with Crypto information")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
@@ -90,17 +131,105 @@ public class CryptoAdviceController {
     })
     public List<Crypto> getWithMinPrice(@RequestParam(name = "name", required = false)
                                         @ApiParam(name = "name", example = "BTC")
-                                        String cryptoName) {
-        return Objects.isNull(cryptoName) ? cryptoService.getMinByPrice() :
-          List.of(cryptoService.getMinByPrice(cryptoName));
+                                        String cryptoName,
+                                        @RequestParam(name = "limit", required = false)
+                                        @ApiParam(name = "limit", example = "10")
+                                        Integer limit) {
+        if (Objects.nonNull(cryptoName)) {
+            return List.of(cryptoService.getMinByPrice(cryptoName));
+        }
+        return Objects.isNull(limit) ? cryptoService.getMinByPrice() : cryptoService.getMinByPrice(limit);
+    }
+
+    @GetMapping(value = "/price/range", produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get Crypto info with min and max price in the range of time.",
+      notes = "Get Crypto info with min and max price by passed Crypto name for records with timestamp in range " +
+        "['from', 'to'] in milliseconds, both bounds are inclusive. \n" +
+        "Range can cover any presented months. \n" +
+        "Returns object with Crypto information of min and max price")
+    @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Successfully retrieved"),
+      @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
+        " files handling with Crypto info")
+    })
+    public PriceRange getPriceRange(@RequestParam(name = "name")
+                                    @ApiParam(name = "name", example = "BTC", required = true)
+                                    String cryptoName,
+                                    @RequestParam
+                                    @ApiParam(name = "from", example = "1641009600000", required = true)
+                                    long from,
+                                    @RequestParam
+                                    @ApiParam(name = "to", example = "1643655600000", required = true)
+                                    long to) {
+        return cryptoService.getPriceRange(cryptoName, from, to);
+    }
+
+    @GetMapping(value = "/price/candles", produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get OHLC candles of Crypto in the range of time.",
+      notes = "Get candles (open, high, low and close price and amount of records) of hours, days or weeks by passed " +
+        "Crypto name for periods that overlap range ['from', 'to'] in milliseconds, both bounds are inclusive. \n" +
+        "Range can cover any presented months, periods are aligned in the time zone of the system. \n" +
+        "Range cannot contain more than 1000 periods between its first and last record, longer ranges have to be " +
+        "requested by parts. \n" +
+        "Returns array with candles in ascending order by time")
+    @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Successfully retrieved"),
+      @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
+        " files handling with Crypto info")
+    })
+    public List<Candle> getCandles(@RequestParam(name = "name")
+                                   @ApiParam(name = "name", example = "BTC", required = true)
+                                   String cryptoName,
+                                   @RequestParam(name = "resolution", defaultValue = "DAY")
+                                   @ApiParam(name = "resolution", example = "HOUR")
+                                   CandleResolution resolution,
+                                   @RequestParam
+                                   @ApiParam(name = "from", example = "1641009600000", required = true)
+                                   long from,
+                                   @RequestParam
+                                   @ApiParam(name = "to", example = "1643655600000", required = true)
+                                   long to) {
+        return cryptoService.getCandles(cryptoName, resolution, from, to);
+    }
+
+    @GetMapping(value = "/price/statistics", produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get rolling statistics of Crypto price in the range of time.",
+      notes = "Get simple moving average, exponential moving average and standard deviation of the price over the " +
+        "last 'window' records for each record by passed Crypto name with timestamp in range ['from', 'to'] in " +
+        "milliseconds, both bounds are inclusive. \n" +
+        "'window' cannot be less than 1 and more than 1000, simple moving average and standard deviation are null " +
+        "until the window is filled. \n" +
+        "Range cannot contain more than 1000 records, longer ranges have to be requested by parts. \n" +
+        "Returns array with statistics in ascending order by time")
+    @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Successfully retrieved"),
+      @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
+        " files handling with Crypto info")
+    })
+    public List<RollingStatistic> getRollingStatistics(@RequestParam(name = "name")
+                                                       @ApiParam(name = "name", example = "BTC", required = true)
+                                                       String cryptoName,
+                                                       @RequestParam
+                                                       @ApiParam(name = "window", example = "24", required = true)
+                                                       int window,
+                                                       @RequestParam
+                                                       @ApiParam(name = "from", example = "1641009600000",
+                                                         required = true)
+                                                       long from,
+                                                       @RequestParam
+                                                       @ApiParam(name = "to", example = "1643655600000",
+                                                         required = true)
+                                                       long to) {
+        return cryptoService.getRollingStatistics(cryptoName, window, from, to);
     }
 
     @GetMapping(value = "/price/normalize", produces = APPLICATION_JSON_VALUE)
-    @ApiOperation(value = "Get Crypto info with descend normalized price.",
-      notes = "Get Crypto info with descend normalized price by provided day from each existing file with " +
-        "Crypto information from the last presented month. \nAlso it represent the index rate. \n" +
+    @ApiOperation(value = "Get Crypto info with descend normalized range of price.",
+      notes = "Get normalized range of price ((max - min) / min) by provided day for each Crypto with records " +
+        "for the day, day can be from any presented month. \nAlso it represent the index rate. \n" +
         "In case if day is not present then will do the same for last presented month in the system.\n  " +
-        "Returns array with Crypto information and descending normalized (1 -> 0) index based on price for each Crypto")
+        "If 'limit' is passed then only 'limit' Crypto with the highest normalized range are returned. \n" +
+        "Returns array with the last Crypto information of the period and descending normalized range as index")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
       @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
@@ -112,29 +241,107 @@ public class CryptoAdviceController {
                                             LocalDate day,
                                             @RequestParam(required = false)
                                             @ApiParam(name = "dayInMilliseconds", example = "1643655600000")
-                                            Long dayInMilliseconds) {
-        return cryptoService.normalize(day, dayInMilliseconds);
+                                            Long dayInMilliseconds,
+                                            @RequestParam(name = "limit", required = false)
+                                            @ApiParam(name = "limit", example = "10")
+                                            Integer limit) {
+        return Objects.isNull(limit) ? cryptoService.normalize(day, dayInMilliseconds) :
+          cryptoService.normalize(day, dayInMilliseconds, limit);
+    }
+
+    @GetMapping(value = "/price/ranking", produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get ranking of Crypto by descend normalized range of price.",
+      notes = "Get ranking of each Crypto of the last presented month by normalized range of price " +
+        "((max - min) / min) for the window: the last presented month or the last 1, 7 or 30 days counted back " +
+        "from the newest record of each Crypto. \nRanking is kept up to date on ingestion of files. \n" +
+        "If 'limit' is passed then only 'limit' Crypto with the highest normalized range are returned. \n" +
+        "Returns array with the last Crypto information of the window and descending normalized range as index")
+    @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Successfully retrieved"),
+      @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
+        " files handling with Crypto info")
+    })
+    public List<NormalizedCrypto> getRanking(@RequestParam(name = "window", defaultValue = "CURRENT_MONTH")
+                                             @ApiParam(name = "window", example = "LAST_7_DAYS")
+                                             RankingWindow window,
+                                             @RequestParam(name = "limit", required = false)
+                                             @ApiParam(name = "limit", example = "10")
+                                             Integer limit) {
+        return Objects.isNull(limit) ? cryptoService.getNormalizedRangeRanking(window) :
+          cryptoService.getNormalizedRangeRanking(window, limit);
     }
 
-    @GetMapping(value = "/period")
+    @GetMapping(value = "/period", produces = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Get Crypto info from last presented day up to days amount",
       notes = "Provides Crypto info from newest day up to amount of days (request param = 'days') \n" +
         "If param 'name' is passed then will collect data to required Crypto for requested amount of days, otherwise" +
         "will provide Crypto info of all presented Cryptos for required period of time. \n" +
-        "Pay attention that 'days' parameter is required parameter. Also, there are some boundaries for the 'days'" +
-        "parameter, it cannot be less than 1 and more than 365")
+        "Pay attention that 'days' parameter is required parameter, it cannot be less than 1. \n" +
+        "Records are written to the response one by one in descending order by time as a chunked stream")
     @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Successfully retrieved"),
       @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
         " files handling with Crypto info")
     })
-    public List<Crypto> getInfoUpToDayAmount(@RequestParam(name = "name", required = false)
-                                             @ApiParam(name = "name", example = "BTC")
-                                             String cryptoName,
-                                             @RequestParam
-                                             @ApiParam(name = "days", example = "10", required = true)
-                                             int amountOfDays) {
-        return cryptoService.getCryptoByNameAndRangeOfDays(amountOfDays, cryptoName);
+    public ResponseEntity<StreamingResponseBody> getInfoUpToDayAmount(@RequestParam(name = "name", required = false)
+                                                                      @ApiParam(name = "name", example = "BTC")
+                                                                      String cryptoName,
+                                                                      @RequestParam
+                                                                      @ApiParam(name = "days", example = "10",
+                                                                        required = true)
+                                                                      int amountOfDays,
+                                                                      HttpServletRequest request) {
+        // validation is done before the response is committed, so errors are still handled as 400
+        Stream<Crypto> cryptos = cryptoService.streamCryptoByNameAndRangeOfDays(amountOfDays, cryptoName);
+        // streamed body is not passed through ResponseBodyAdvice, so version headers are added here
+        return ResponseEntity.ok()
+          .headers(headers -> DatasetVersionInterceptor.addVersionHeaders(request, headers))
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(outputStream -> writeJsonArray(cryptos, outputStream));
+    }
+
+    @GetMapping(value = "/period/page", produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get page of Crypto info from last presented day up to days amount",
+      notes = "Provides the same Crypto info as '/period' page by page: at most 'pageSize' records in descending " +
+        "order by time and 'nextCursor' to request the next page, 'nextCursor' is null for the last page. \n" +
+        "Pass 'cursor' = 'nextCursor' of the previous page to get the next one, the first page is requested without " +
+        "'cursor'. \n" +
+        "Pay attention that 'days' parameter is required parameter, it cannot be less than 1. 'pageSize' cannot be " +
+        "less than 1 and more than 1000")
+    @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Successfully retrieved"),
+      @ApiResponse(code = 400, message = "Inner exception related to validation of passed parameter or related to the" +
+        " files handling with Crypto info")
+    })
+    public CryptoPage getPageUpToDayAmount(@RequestParam(name = "name", required = false)
+                                           @ApiParam(name = "name", example = "BTC")
+                                           String cryptoName,
+                                           @RequestParam
+                                           @ApiParam(name = "days", example = "365", required = true)
+                                           int amountOfDays,
+                                           @RequestParam(name = "pageSize", defaultValue = "100")
+                                           @ApiParam(name = "pageSize", example = "100")
+                                           int pageSize,
+                                           @RequestParam(name = "cursor", required = false)
+                                           @ApiParam(name = "cursor")
+                                           String cursor) {
+        return cryptoService.getCryptoPageByNameAndRangeOfDays(amountOfDays, cryptoName, pageSize, cursor);
+    }
+
+    /**
+     * Write <b>values</b> as JSON array by {@link JsonGenerator}, each value is serialized as soon as it is taken from
+     * the stream, and the generator flushes its buffer to the <b>outputStream</b> when it is full.
+     */
+    private void writeJsonArray(Stream<?> values, OutputStream outputStream) throws IOException {
+        try (values; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<?> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+            }
+            generator.writeEndArray();
+        }
     }
 
 }
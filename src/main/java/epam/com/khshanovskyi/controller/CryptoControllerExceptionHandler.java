@@ -8,6 +8,7 @@ import epam.com.khshanovskyi.exception.CryptoNameDoesNotExistException;
 import epam.com.khshanovskyi.exception.CryptoValuesNotPresentException;
 import epam.com.khshanovskyi.exception.UnableToFindFileByPathException;
 import epam.com.khshanovskyi.exception.UnableToFindFolderByPathException;
+import epam.com.khshanovskyi.exception.UnableToParseFileException;
 
 /**
  * Provides exception handling (catches exceptions and provides appropriate message and HTTP status) for the
@@ -36,6 +37,11 @@ public class CryptoControllerExceptionHandler {
         return basicBodyForBadRequest(ex.getMessage());
     }
 
+    @ExceptionHandler(UnableToParseFileException.class)
+    public ResponseEntity<String> handleUnableToParseFileException(UnableToParseFileException ex) {
+        return basicBodyForBadRequest(ex.getMessage());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
         return basicBodyForBadRequest(ex.getMessage());
@@ -0,0 +1,28 @@
+package epam.com.khshanovskyi.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import epam.com.khshanovskyi.service.WarmUpService;
+import lombok.RequiredArgsConstructor;
+import springfox.documentation.annotations.ApiIgnore;
+
+/**
+ * Readiness probe for the load balancer: 503 until the warm-up of the data is finished.
+ */
+@RestController
+@RequiredArgsConstructor
+@ApiIgnore
+public class ReadinessController {
+
+    private final WarmUpService warmUpService;
+
+    @GetMapping(value = "/readiness")
+    public ResponseEntity<String> readiness() {
+        return warmUpService.isReady() ?
+          ResponseEntity.ok("READY") :
+          ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("NOT_READY");
+    }
+}
@@ -0,0 +1,8 @@
+package epam.com.khshanovskyi.dto;
+
+/**
+ * Counters of one cache since start of the application, <b>weight</b> is the amount of cached rows.
+ */
+public record CacheStatistics(String name, long hitCount, long missCount, double hitRate, long evictionCount,
+                              long evictionWeight, long size, long weight) {
+}
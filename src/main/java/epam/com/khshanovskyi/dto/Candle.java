@@ -0,0 +1,23 @@
+package epam.com.khshanovskyi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * OHLC candle of one Crypto for the period that starts at <b>timestampMilliseconds</b>: price of the first (open),
+ * the highest, the lowest and the last (close) records of the period and amount of records.
+ */
+public record Candle(String name, long timestampMilliseconds, LocalDateTime localDateTime, BigDecimal open,
+                     BigDecimal high, BigDecimal low, BigDecimal close, int count) {
+
+    /**
+     * Merge candle of the same period with the <b>next</b> one, which records follow the records of this candle.
+     * It can happen only for periods on the border of months, as each month file has its own candles.
+     */
+    public Candle merge(Candle next) {
+        return new Candle(name, timestampMilliseconds, localDateTime, open,
+          next.high.compareTo(high) > 0 ? next.high : high,
+          next.low.compareTo(low) < 0 ? next.low : low,
+          next.close, count + next.count);
+    }
+}
@@ -0,0 +1,8 @@
+package epam.com.khshanovskyi.dto;
+
+/**
+ * Counters of coalescing of concurrent loads since start of the application: <b>loadCount</b> is the amount of done
+ * loads and <b>coalescedCount</b> is the amount of callers that waited for the load of the other caller.
+ */
+public record CoalescingStatistics(String name, long loadCount, long coalescedCount) {
+}
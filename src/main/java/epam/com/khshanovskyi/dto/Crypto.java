@@ -1,23 +1,32 @@
 package epam.com.khshanovskyi.dto;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
-
-import com.opencsv.bean.CsvBindByName;
+import java.time.ZoneId;
 
 import lombok.Data;
 
 @Data
 public class Crypto {
 
-    @CsvBindByName(column = "symbol")
     private String name;
 
-    @CsvBindByName
     private BigDecimal price;
 
     private LocalDateTime localDateTime;
 
-    @CsvBindByName(column = "timestamp")
     private Long timestampMilliseconds;
+
+    /**
+     * Creates {@link Crypto} with {@link #localDateTime} converted from <b>timestampMilliseconds</b> by <b>zoneId</b>.
+     */
+    public static Crypto of(String name, BigDecimal price, long timestampMilliseconds, ZoneId zoneId) {
+        Crypto crypto = new Crypto();
+        crypto.setName(name);
+        crypto.setPrice(price);
+        crypto.setTimestampMilliseconds(timestampMilliseconds);
+        crypto.setLocalDateTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMilliseconds), zoneId));
+        return crypto;
+    }
 }
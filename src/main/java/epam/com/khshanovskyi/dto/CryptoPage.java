@@ -0,0 +1,9 @@
+package epam.com.khshanovskyi.dto;
+
+import java.util.List;
+
+/**
+ * Page of {@link Crypto} records, <b>nextCursor</b> is null in case if this is the last page.
+ */
+public record CryptoPage(List<Crypto> cryptos, String nextCursor) {
+}
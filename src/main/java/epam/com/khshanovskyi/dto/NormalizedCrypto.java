@@ -1,6 +1,19 @@
 package epam.com.khshanovskyi.dto;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public record NormalizedCrypto(Crypto crypto, BigDecimal index) {
+
+    private static final int INDEX_SCALE = 6;
+
+    /**
+     * Creates {@link NormalizedCrypto} with normalized range ((max - min) / min) as {@link #index()}, index is zero in
+     * case if <b>min</b> is zero.
+     */
+    public static NormalizedCrypto of(Crypto crypto, BigDecimal min, BigDecimal max) {
+        BigDecimal index = min.signum() == 0 ? BigDecimal.ZERO :
+          max.subtract(min).divide(min, INDEX_SCALE, RoundingMode.UP);
+        return new NormalizedCrypto(crypto, index);
+    }
 }
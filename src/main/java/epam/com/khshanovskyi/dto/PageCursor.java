@@ -0,0 +1,63 @@
+package epam.com.khshanovskyi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position after the last returned record of the page: records are ordered descending by timestamp and ascending by
+ * symbol, so (timestamp, symbol) of the last record is enough to seek the next page. Files of neighbour months can
+ * contain the same records, so <b>returned</b> keeps the amount of already returned records with the same timestamp
+ * and symbol.
+ * Cursor is passed to clients as opaque URL-safe Base64 string.
+ */
+public record PageCursor(long timestamp, String symbol, int returned) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * @param previous cursor the <b>page</b> was requested with, null for the first page
+     * @param page     not empty page of records
+     * @return cursor after the last record of the <b>page</b>
+     */
+    public static PageCursor after(PageCursor previous, List<Crypto> page) {
+        Crypto last = page.get(page.size() - 1);
+        int returned = 0;
+        for (int i = page.size() - 1; i >= 0 && isAt(page.get(i), last); i--) {
+            returned++;
+        }
+        if (returned == page.size() && previous != null && previous.timestamp() == last.getTimestampMilliseconds() &&
+          previous.symbol().equals(last.getName())) {
+            returned += previous.returned();
+        }
+        return new PageCursor(last.getTimestampMilliseconds(), last.getName(), returned);
+    }
+
+    /**
+     * @throws IllegalArgumentException in case if <b>cursor</b> was not provided by {@link #encode()}
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+              .split(SEPARATOR, 3);
+            PageCursor pageCursor = new PageCursor(Long.parseLong(parts[0]), parts[2], Integer.parseInt(parts[1]));
+            if (pageCursor.returned() < 1) {
+                throw new IllegalArgumentException("Amount of returned records has to be positive");
+            }
+            return pageCursor;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(
+              String.format("[cursor] is malformed, current value is [%s]", cursor), e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((timestamp + SEPARATOR + returned + SEPARATOR + symbol).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isAt(Crypto crypto, Crypto last) {
+        return crypto.getTimestampMilliseconds().equals(last.getTimestampMilliseconds()) &&
+          crypto.getName().equals(last.getName());
+    }
+}
@@ -0,0 +1,4 @@
+package epam.com.khshanovskyi.dto;
+
+public record PriceRange(Crypto min, Crypto max) {
+}
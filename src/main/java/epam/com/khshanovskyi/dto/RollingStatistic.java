@@ -0,0 +1,14 @@
+package epam.com.khshanovskyi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rolling statistics of the price of one Crypto for the window of the last records that ends with the record at
+ * <b>timestampMilliseconds</b>. Simple moving average and standard deviation are null until the window is filled,
+ * exponential moving average starts from the first record.
+ */
+public record RollingStatistic(String name, long timestampMilliseconds, LocalDateTime localDateTime, BigDecimal price,
+                               BigDecimal simpleMovingAverage, BigDecimal exponentialMovingAverage,
+                               BigDecimal standardDeviation) {
+}
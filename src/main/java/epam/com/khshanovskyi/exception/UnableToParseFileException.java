@@ -0,0 +1,12 @@
+package epam.com.khshanovskyi.exception;
+
+public class UnableToParseFileException extends RuntimeException {
+
+    public UnableToParseFileException(String message) {
+        super(message);
+    }
+
+    public UnableToParseFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
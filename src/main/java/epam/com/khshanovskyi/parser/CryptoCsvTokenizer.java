@@ -0,0 +1,182 @@
+package epam.com.khshanovskyi.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import epam.com.khshanovskyi.exception.UnableToParseFileException;
+
+/**
+ * Byte level tokenizer for the fixed 'timestamp,symbol,price' layout of the Crypto info files.
+ * Numbers are accumulated straight from the bytes, so no {@link String} is created per cell, and the symbol is
+ * converted into {@link String} only when it differs from the symbol of the previous row (once per file in practice).
+ * <br>
+ * Bytes can be fed in any portions, state of the current row is kept between calls of {@link #feed(byte[], int, int)}.
+ * Not thread safe, one instance have to be used for one file (or one chunk of the file).
+ */
+final class CryptoCsvTokenizer {
+
+    private static final int TIMESTAMP = 0;
+    private static final int SYMBOL = 1;
+    private static final int PRICE = 2;
+    private static final int SKIP_LINE = 3;
+    private static final int MAX_DIGITS = 18;
+
+    private final String fileName;
+    private final CryptoRowConsumer consumer;
+
+    private int column = TIMESTAMP;
+    private long lineNumber = 1;
+    private boolean lineIsEmpty = true;
+    private boolean headerAllowed;
+
+    private long timestamp;
+    private int timestampDigits;
+
+    private byte[] symbolBytes = new byte[16];
+    private int symbolLength;
+    private byte[] lastSymbolBytes = new byte[0];
+    private String lastSymbol;
+
+    private long unscaledPrice;
+    private int priceDigits;
+    private int scale;
+    private boolean fraction;
+    private boolean negative;
+
+    /**
+     * @param fileName      name of the file, used only for messages of exceptions
+     * @param headerAllowed whether first line of the portion can be a header ('timestamp,symbol,price')
+     * @param consumer      receiver of the parsed rows
+     */
+    CryptoCsvTokenizer(String fileName, boolean headerAllowed, CryptoRowConsumer consumer) {
+        this.fileName = fileName;
+        this.headerAllowed = headerAllowed;
+        this.consumer = consumer;
+    }
+
+    void feed(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            feed(bytes[i]);
+        }
+    }
+
+    void feed(byte b) {
+        if (b == '\n') {
+            endOfLine();
+            return;
+        }
+        if (b == '\r' || column == SKIP_LINE) {
+            return;
+        }
+        if (lineIsEmpty) {
+            lineIsEmpty = false;
+            if (headerAllowed && (b < '0' || b > '9')) {
+                column = SKIP_LINE;
+                headerAllowed = false;
+                return;
+            }
+            headerAllowed = false;
+        }
+
+        if (b == ',') {
+            endOfColumn();
+            return;
+        }
+
+        switch (column) {
+            case TIMESTAMP -> acceptTimestampByte(b);
+            case SYMBOL -> acceptSymbolByte(b);
+            case PRICE -> acceptPriceByte(b);
+            default -> throw generateUnableToParseFileException("unexpected amount of columns");
+        }
+    }
+
+    /**
+     * Completes the last row in case if file does not end with the line separator.
+     */
+    void finish() {
+        if (!lineIsEmpty) {
+            endOfLine();
+        }
+    }
+
+    private void acceptTimestampByte(byte b) {
+        if (b < '0' || b > '9' || ++timestampDigits > MAX_DIGITS) {
+            throw generateUnableToParseFileException("timestamp is not a number");
+        }
+        timestamp = timestamp * 10 + (b - '0');
+    }
+
+    private void acceptSymbolByte(byte b) {
+        if (symbolLength == symbolBytes.length) {
+            symbolBytes = Arrays.copyOf(symbolBytes, symbolLength * 2);
+        }
+        symbolBytes[symbolLength++] = b;
+    }
+
+    private void acceptPriceByte(byte b) {
+        if (b >= '0' && b <= '9') {
+            if (++priceDigits > MAX_DIGITS) {
+                throw generateUnableToParseFileException("price has too many digits");
+            }
+            unscaledPrice = unscaledPrice * 10 + (b - '0');
+            if (fraction) {
+                scale++;
+            }
+        } else if (b == '.' && !fraction) {
+            fraction = true;
+        } else if (b == '-' && !negative && priceDigits == 0 && !fraction) {
+            negative = true;
+        } else {
+            throw generateUnableToParseFileException("price is not a number");
+        }
+    }
+
+    private void endOfColumn() {
+        if (column >= PRICE) {
+            throw generateUnableToParseFileException("unexpected amount of columns");
+        }
+        column++;
+    }
+
+    private void endOfLine() {
+        if (column == PRICE) {
+            if (timestampDigits == 0 || symbolLength == 0 || priceDigits == 0) {
+                throw generateUnableToParseFileException("one of the columns is empty");
+            }
+            consumer.accept(timestamp, resolveSymbol(), negative ? -unscaledPrice : unscaledPrice, scale);
+        } else if (column != SKIP_LINE && !lineIsEmpty) {
+            throw generateUnableToParseFileException("unexpected amount of columns");
+        }
+        resetRow();
+        lineNumber++;
+    }
+
+    private String resolveSymbol() {
+        if (lastSymbol == null || !Arrays.equals(symbolBytes, 0, symbolLength, lastSymbolBytes, 0,
+          lastSymbolBytes.length)) {
+            lastSymbolBytes = Arrays.copyOf(symbolBytes, symbolLength);
+            lastSymbol = new String(lastSymbolBytes, StandardCharsets.US_ASCII).intern();
+        }
+        return lastSymbol;
+    }
+
+    private void resetRow() {
+        column = TIMESTAMP;
+        lineIsEmpty = true;
+        timestamp = 0;
+        timestampDigits = 0;
+        symbolLength = 0;
+        unscaledPrice = 0;
+        priceDigits = 0;
+        scale = 0;
+        fraction = false;
+        negative = false;
+    }
+
+    private UnableToParseFileException generateUnableToParseFileException(String reason) {
+        return new UnableToParseFileException(
+          String.format("Unable to parse line [%s] of the file [%s]: %s", lineNumber, fileName, reason));
+    }
+
+}
@@ -1,68 +1,323 @@
 package epam.com.khshanovskyi.parser;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.opencsv.bean.CsvToBeanBuilder;
-
 import epam.com.khshanovskyi.dto.Crypto;
 import epam.com.khshanovskyi.exception.UnableToFindFileByPathException;
+import epam.com.khshanovskyi.exception.UnableToParseFileException;
+import epam.com.khshanovskyi.util.FilesUtil;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Provides basic implementation of the {@link CryptoParser} for the {@link Crypto} DTO.
+ * Files are parsed directly from bytes by {@link CryptoCsvTokenizer} with the fixed 'timestamp,symbol,price' layout.
+ * Files smaller than <b>mappedFileSizeThreshold</b> are read from {@link FileChannel} via buffer, bigger ones are
+ * mapped into memory via {@link FileChannel#map} and parsed in parallel by chunks split at line boundaries.
+ * <br>
+ * Archived files compressed with gzip (.csv.gz) or deflate (.csv.deflate) are decompressed on the fly while reading
+ * with large buffers, they are never mapped and never inflated into temporary files.
  */
 @Component
 @Slf4j
 public class CryptoDtoParser implements CryptoParser {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int COMPRESSED_BUFFER_SIZE = 256 * 1024;
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int LINE_BOUNDARY_LOOKUP_SIZE = 256;
+
+    @Value("${parser.mapped.file.size.threshold.bytes}")
+    private long mappedFileSizeThreshold = 32L * 1024 * 1024;
+    @Value("${parser.mapped.chunk.size.bytes}")
+    private long mappedChunkSize = 8L * 1024 * 1024;
+
     /**
      * Read rows from the file by <b>fileName</b>, convert it into {@link List<Crypto>}, and convert provided
-     * {@link Long} <b>timestamp</b> in additional field {@link Crypto#setLocalDateTime(LocalDateTime)}.s
+     * {@link Long} <b>timestamp</b> in additional field {@link Crypto#setLocalDateTime(LocalDateTime)}.
      *
      * @param fileName
      * @return {@link List<Crypto>}
      * @throws UnableToFindFileByPathException in case if file is not present
+     * @throws UnableToParseFileException      in case if file cannot be read or has wrong format
      */
     @Override
     public List<Crypto> parseFromFile(String fileName) {
-        if (StringUtils.isEmpty(fileName)) {
-            log.warn("Provided file name is null or empty");
-            throw new NullPointerException("Provided file name cannot be null or empty");
+        checkIfEmpty(fileName);
+
+        ZoneId zoneId = ZoneId.systemDefault();
+        List<Crypto> parsed = new ArrayList<>();
+        parseFromFile(fileName, 0, (timestamp, name, unscaledPrice, scale) ->
+          parsed.add(toCrypto(timestamp, name, unscaledPrice, scale, zoneId)));
+
+        return parsed;
+    }
+
+    /**
+     * Read rows from the file by <b>fileName</b> starting from the byte <b>fromOffset</b> and pass each of them into
+     * <b>consumer</b> without creating of {@link Crypto}. Header is expected only in case if <b>fromOffset</b> is 0.
+     * In case of append (<b>fromOffset</b> is not 0) only complete rows are parsed, the row that is still being written
+     * (without line separator at the end) is left for the next call. The whole file parsed from 0 is parsed till the
+     * end, including the last row without line separator, in case if the size of the file is not changed while it is
+     * parsed, otherwise the last row is left for the next call as well. Compressed files are not appended, so they can
+     * be parsed only fully from 0. Big files parsed from 0 are memory mapped and their chunks are parsed in parallel,
+     * rows of the chunks are passed into <b>consumer</b> one chunk after another in the file order, so <b>consumer</b>
+     * does not have to be thread safe.
+     *
+     * @param fileName
+     * @param fromOffset offset of the first byte to parse, it has to be at the line boundary
+     * @param consumer   receiver of the rows
+     * @return offset right after the last parsed row
+     * @throws UnableToFindFileByPathException in case if file is not present
+     * @throws UnableToParseFileException      in case if file cannot be read or has wrong format
+     */
+    @Override
+    public long parseFromFile(String fileName, long fromOffset, CryptoRowConsumer consumer) {
+        checkIfEmpty(fileName);
+        if (!new File(fileName).isFile()) {
+            String message = String.format("Unable to find a file by path [%s]", fileName);
+            log.warn(message);
+            throw new UnableToFindFileByPathException(message);
+        }
+        if (FilesUtil.isCompressedFile(fileName)) {
+            return parseCompressedFromBeginning(fileName, fromOffset, consumer);
         }
 
-        FileReader fileReader = generateFileReader(fileName);
-        List<Crypto> parsed = new CsvToBeanBuilder(fileReader)
-          .withType(Crypto.class)
-          .build()
-          .parse();
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long to = findLastLineBoundary(channel, fromOffset, size);
+            if (fromOffset == 0 && isMapped(fileName, to)) {
+                log.debug("Parsing file [{}] with size [{}] bytes via memory mapping", fileName, to);
+                splitAtLineBoundaries(channel, to).parallelStream()
+                  .map(chunk -> {
+                      CryptoRowBuffer rows = new CryptoRowBuffer();
+                      readChunk(fileName, channel, chunk[0], chunk[1], rows);
+                      return rows;
+                  })
+                  .forEachOrdered(rows -> rows.replayInto(consumer));
+            } else if (to > fromOffset) {
+                readRange(fileName, channel, fromOffset, to, consumer);
+            }
+            if (fromOffset == 0 && to < size && channel.size() == size) {
+                readRange(fileName, channel, to, size, consumer);
+                return size;
+            }
+            return to;
+        } catch (IOException e) {
+            String message = String.format("Unable to read a file by path [%s]", fileName);
+            log.warn(message);
+            throw new UnableToParseFileException(message, e);
+        }
+    }
+
+    private long parseCompressedFromBeginning(String fileName, long fromOffset, CryptoRowConsumer consumer) {
+        if (fromOffset != 0) {
+            String message = String.format("Compressed file by path [%s] can be parsed only from the beginning",
+              fileName);
+            log.warn(message);
+            throw new UnableToParseFileException(message);
+        }
+        readRows(fileName, consumer);
+        return new File(fileName).length();
+    }
 
-        parsed.forEach(crypto -> crypto.setLocalDateTime(
-          Instant.ofEpochMilli(crypto.getTimestampMilliseconds())
-            .atZone(ZoneId.systemDefault())
-            .toLocalDateTime())
-        );
+    private boolean isMapped(String fileName, long fileSize) {
+        return fileSize >= mappedFileSizeThreshold && !FilesUtil.isCompressedFile(fileName);
+    }
 
-        return parsed;
+    private void readRange(String fileName, FileChannel channel, long from, long to, CryptoRowConsumer consumer)
+      throws IOException {
+        String rangeName = String.format("%s (tail from byte %s)", fileName, from);
+        CryptoCsvTokenizer tokenizer = new CryptoCsvTokenizer(rangeName, from == 0, consumer);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        for (long position = from; position < to; ) {
+            buffer.clear().limit((int) Math.min(BUFFER_SIZE, to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            tokenizer.feed(buffer.array(), 0, read);
+            position += read;
+        }
+        tokenizer.finish();
+    }
+
+    private void readChunk(String fileName, FileChannel channel, long from, long to, CryptoRowConsumer consumer) {
+        String chunkName = String.format("%s (chunk from byte %s)", fileName, from);
+        CryptoCsvTokenizer tokenizer = new CryptoCsvTokenizer(chunkName, from == 0, consumer);
+
+        MappedByteBuffer buffer = map(fileName, channel, from, to - from);
+        byte[] bytes = new byte[(int) Math.min(BUFFER_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(bytes.length, buffer.remaining());
+            buffer.get(bytes, 0, length);
+            tokenizer.feed(bytes, 0, length);
+        }
+        tokenizer.finish();
     }
 
-    private FileReader generateFileReader(String fileName) {
-        FileReader fileReader;
+    /**
+     * Splits file into chunks of ~<b>mappedChunkSize</b> bytes, each chunk ends right after the line separator (or at
+     * the end of the file), so every chunk can be parsed independently.
+     *
+     * @return {@link List} of [from, to) byte ranges
+     */
+    private List<long[]> splitAtLineBoundaries(FileChannel channel, long fileSize) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer lookup = ByteBuffer.allocate(LINE_BOUNDARY_LOOKUP_SIZE);
+        long from = 0;
+
+        while (from < fileSize) {
+            long to = Math.min(fileSize, from + Math.min(mappedChunkSize, Integer.MAX_VALUE));
+            to = findNextLineBoundary(channel, lookup, to, fileSize);
+            chunks.add(new long[]{from, to});
+            from = to;
+        }
+
+        return chunks;
+    }
+
+    private long findNextLineBoundary(FileChannel channel, ByteBuffer lookup, long position, long fileSize)
+      throws IOException {
+        while (position < fileSize) {
+            lookup.clear();
+            int read = channel.read(lookup, position);
+            for (int i = 0; i < read; i++) {
+                if (lookup.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += Math.max(read, 0);
+        }
+        return fileSize;
+    }
+
+    /**
+     * @return offset right after the last line separator in range [from, to), <b>from</b> if there is no one
+     */
+    private long findLastLineBoundary(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer lookup = ByteBuffer.allocate(LINE_BOUNDARY_LOOKUP_SIZE);
+        long end = to;
+        while (end > from) {
+            long start = Math.max(from, end - LINE_BOUNDARY_LOOKUP_SIZE);
+            lookup.clear().limit((int) (end - start));
+            int read = Math.max(channel.read(lookup, start), 0);
+            for (int i = read - 1; i >= 0; i--) {
+                if (lookup.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+
+    private MappedByteBuffer map(String fileName, FileChannel channel, long from, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+        } catch (IOException e) {
+            String message = String.format("Unable to map a file by path [%s]", fileName);
+            log.warn(message);
+            throw new UnableToParseFileException(message, e);
+        }
+    }
+
+    private void readRows(String fileName, CryptoRowConsumer consumer) {
+        CryptoCsvTokenizer tokenizer = new CryptoCsvTokenizer(fileName, true, consumer);
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (InputStream inputStream = generateInputStream(fileName)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                tokenizer.feed(buffer, 0, read);
+            }
+            tokenizer.finish();
+        } catch (IOException e) {
+            String message = String.format("Unable to read a file by path [%s]", fileName);
+            log.warn(message);
+            throw new UnableToParseFileException(message, e);
+        }
+    }
+
+    private Crypto toCrypto(long timestamp, String name, long unscaledPrice, int scale, ZoneId zoneId) {
+        return Crypto.of(name, BigDecimal.valueOf(unscaledPrice, scale), timestamp, zoneId);
+    }
+
+    private InputStream generateInputStream(String fileName) {
+        InputStream inputStream;
         try {
-            fileReader = new FileReader(fileName);
+            inputStream = new FileInputStream(fileName);
         } catch (FileNotFoundException e) {
             String message = String.format("Unable to find a file by path [%s]", fileName);
             log.warn(message);
             throw new UnableToFindFileByPathException(message, e);
         }
-        return fileReader;
+        if (!FilesUtil.isCompressedFile(fileName)) {
+            return inputStream;
+        }
+
+        try {
+            return fileName.toLowerCase().endsWith(GZIP_EXTENSION) ?
+              new GZIPInputStream(inputStream, COMPRESSED_BUFFER_SIZE) :
+              generateInflaterInputStream(inputStream);
+        } catch (IOException e) {
+            closeQuietly(inputStream);
+            String message = String.format("Unable to read compressed file by path [%s]", fileName);
+            log.warn(message);
+            throw new UnableToParseFileException(message, e);
+        }
+    }
+
+    /**
+     * Inflater that is passed into {@link InflaterInputStream} is not released by it, so it is ended on close.
+     */
+    private InputStream generateInflaterInputStream(InputStream inputStream) {
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(inputStream, inflater, COMPRESSED_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.trace("Unable to close input stream", e);
+        }
+    }
+
+    private void checkIfEmpty(String fileName) {
+        if (StringUtils.isEmpty(fileName)) {
+            log.warn("Provided file name is null or empty");
+            throw new NullPointerException("Provided file name cannot be null or empty");
+        }
     }
 
 }
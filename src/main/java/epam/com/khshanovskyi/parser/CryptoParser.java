@@ -10,4 +10,15 @@ import epam.com.khshanovskyi.dto.Crypto;
 public interface CryptoParser {
 
     List<Crypto> parseFromFile(String fileName);
+
+    /**
+     * Streaming variant of {@link #parseFromFile(String)}: rows are passed one by one into <b>consumer</b> in the file
+     * order, nothing is accumulated, so memory usage does not depend on the size of the file. The whole file is parsed
+     * from 0. Files can be appended, so rows are parsed starting from the byte <b>fromOffset</b> and only complete rows
+     * (ended by the line separator) are passed on append, the last row without line separator is passed only by the
+     * whole parse of the file which is not being written.
+     *
+     * @return offset right after the last parsed row, the next portion of the file has to be parsed from it
+     */
+    long parseFromFile(String fileName, long fromOffset, CryptoRowConsumer consumer);
 }
@@ -0,0 +1,42 @@
+package epam.com.khshanovskyi.parser;
+
+import java.util.Arrays;
+
+/**
+ * Rows of one chunk of the file kept in primitive columns, so the chunk can be parsed in any thread and its rows are
+ * passed into the receiver later in the file order by {@link #replayInto(CryptoRowConsumer)}.
+ * Not thread safe, one instance have to be used for one chunk.
+ */
+final class CryptoRowBuffer implements CryptoRowConsumer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private long[] unscaledPrices = new long[INITIAL_CAPACITY];
+    private int[] scales = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(long timestampMilliseconds, String name, long unscaledPrice, int scale) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            names = Arrays.copyOf(names, capacity);
+            unscaledPrices = Arrays.copyOf(unscaledPrices, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+        }
+        timestamps[size] = timestampMilliseconds;
+        names[size] = name;
+        unscaledPrices[size] = unscaledPrice;
+        scales[size] = scale;
+        size++;
+    }
+
+    void replayInto(CryptoRowConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(timestamps[i], names[i], unscaledPrices[i], scales[i]);
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package epam.com.khshanovskyi.parser;
+
+/**
+ * Callback that receives one parsed row of the Crypto info file in primitive form.
+ * Price is passed as fixed-point value: <b>unscaledPrice</b> * 10^(-<b>scale</b>), 46813.21 -> (4681321, 2).
+ */
+@FunctionalInterface
+public interface CryptoRowConsumer {
+
+    void accept(long timestampMilliseconds, String name, long unscaledPrice, int scale);
+}
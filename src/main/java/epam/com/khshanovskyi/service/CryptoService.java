@@ -1,33 +1,51 @@
 package epam.com.khshanovskyi.service;
 
-import static epam.com.khshanovskyi.util.FilesUtil.getFileNamesWithPath;
-import static epam.com.khshanovskyi.util.FilesUtil.getFolderPathOfTheLastPresentedMonth;
+import static epam.com.khshanovskyi.util.CollectorsUtil.toTopK;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import epam.com.khshanovskyi.dto.Candle;
 import epam.com.khshanovskyi.dto.Crypto;
+import epam.com.khshanovskyi.dto.CryptoPage;
 import epam.com.khshanovskyi.dto.NormalizedCrypto;
+import epam.com.khshanovskyi.dto.PageCursor;
+import epam.com.khshanovskyi.dto.PriceRange;
+import epam.com.khshanovskyi.dto.RollingStatistic;
 import epam.com.khshanovskyi.exception.CryptoNameDoesNotExistException;
 import epam.com.khshanovskyi.exception.CryptoValuesNotPresentException;
-import epam.com.khshanovskyi.parser.CryptoParser;
-import epam.com.khshanovskyi.util.FilesUtil;
+import epam.com.khshanovskyi.store.CandleResolution;
+import epam.com.khshanovskyi.store.DailyRollup;
+import epam.com.khshanovskyi.store.NormalizedRangeLeaderboard;
+import epam.com.khshanovskyi.store.PriceAggregate;
+import epam.com.khshanovskyi.store.PriceSeries;
+import epam.com.khshanovskyi.store.PriceStore;
+import epam.com.khshanovskyi.store.PriceTimeline;
+import epam.com.khshanovskyi.store.RankingWindow;
+import epam.com.khshanovskyi.store.RollingStatisticsStore;
+import epam.com.khshanovskyi.store.SymbolRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,24 +59,39 @@ public class CryptoService {
 
     private static final Comparator<Crypto> PRICE_COMPARATOR = Comparator.comparing(Crypto::getPrice);
     private static final Comparator<Crypto> TIME_COMPARATOR = Comparator.comparing(Crypto::getLocalDateTime);
+    private static final Comparator<NormalizedCrypto> NORMALIZED_RANGE_COMPARATOR =
+      Comparator.comparing(NormalizedCrypto::index).reversed();
     private static final int MIN_AMOUNT_OF_DAYS = 1;
-    private static final int MAX_AMOUNT_OF_DAYS = 365;
+    private static final int MIN_LIMIT = 1;
+    private static final int MIN_WINDOW = 1;
+    private static final int MAX_WINDOW = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    @Value("${path.to.folder.with.crypto.files}")
-    private String pathToFolder;
-    private final CryptoParser cryptoParser;
+    private final PriceStore priceStore;
+    private final SymbolRegistry symbolRegistry;
+    private final NormalizedRangeLeaderboard leaderboard;
+    private final RollingStatisticsStore rollingStatisticsStore;
 
     /**
      * Select all {@link Crypto} from stored files and return the oldest one from each file.
      *
      * @return {@link List<Crypto>}
      */
-    @Cacheable("parsed-cryptos-from-csv-oldest")
+    @Cacheable(value = "parsed-cryptos-from-csv-oldest", key = "{@priceStore.getVersion()}", sync = true)
     public List<Crypto> getOldest() {
-        return getStreamWithListCrypto()
-          .map(cryptos -> findMin(cryptos, TIME_COMPARATOR))
-          .sorted(TIME_COMPARATOR)
-          .toList();
+        return selectFromAggregates(PriceAggregate::oldest, TIME_COMPARATOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Do the same as {@link #getOldest()}, but return only the first <b>limit</b> values.
+     *
+     * @param limit max amount of returned {@link Crypto}
+     * @return {@link List<Crypto>}
+     * @throws IllegalArgumentException in case if <b>limit</b> is less than 1
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-oldest", key = "{@priceStore.getVersion(), #limit}", sync = true)
+    public List<Crypto> getOldest(int limit) {
+        return selectFromAggregates(PriceAggregate::oldest, TIME_COMPARATOR, limit);
     }
 
     /**
@@ -70,14 +103,16 @@ public class CryptoService {
      * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
      * @throws CryptoValuesNotPresentException in case if no value present in file
      */
-    @Cacheable("parsed-cryptos-from-csv-oldest-by-name")
+    @Cacheable(value = "parsed-cryptos-from-csv-oldest-by-name",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName}", sync = true)
     public Crypto getOldest(String cryptoName) {
         checkIfEmpty(cryptoName);
         String cryptoNameInUpperCase = cryptoName.toUpperCase();
         validateIfPassedCryptoNameExists(cryptoNameInUpperCase);
 
-        return getFilteredStreamWithListCrypto(cryptoNameInUpperCase)
-          .map(cryptos -> findMin(cryptos, TIME_COMPARATOR))
+        return getFilteredAggregatesOfTheLastPresentedMonth(cryptoNameInUpperCase).stream()
+          .map(PriceAggregate::oldest)
+          .filter(Objects::nonNull)
           .findFirst()
           .orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
     }
@@ -87,12 +122,21 @@ public class CryptoService {
      *
      * @return {@link List<Crypto>}
      */
-    @Cacheable("parsed-cryptos-from-csv-newest")
+    @Cacheable(value = "parsed-cryptos-from-csv-newest", key = "{@priceStore.getVersion()}", sync = true)
     public List<Crypto> getNewest() {
-        return getStreamWithListCrypto()
-          .map(cryptos -> findMax(cryptos, TIME_COMPARATOR))
-          .sorted(TIME_COMPARATOR.reversed())
-          .toList();
+        return selectFromAggregates(PriceAggregate::newest, TIME_COMPARATOR.reversed(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Do the same as {@link #getNewest()}, but return only the first <b>limit</b> values.
+     *
+     * @param limit max amount of returned {@link Crypto}
+     * @return {@link List<Crypto>}
+     * @throws IllegalArgumentException in case if <b>limit</b> is less than 1
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-newest", key = "{@priceStore.getVersion(), #limit}", sync = true)
+    public List<Crypto> getNewest(int limit) {
+        return selectFromAggregates(PriceAggregate::newest, TIME_COMPARATOR.reversed(), limit);
     }
 
     /**
@@ -104,14 +148,16 @@ public class CryptoService {
      * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
      * @throws CryptoValuesNotPresentException in case if no value present in file
      */
-    @Cacheable("parsed-cryptos-from-csv-newest-by-name")
+    @Cacheable(value = "parsed-cryptos-from-csv-newest-by-name",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName}", sync = true)
     public Crypto getNewest(String cryptoName) {
         checkIfEmpty(cryptoName);
         String cryptoNameInUpperCase = cryptoName.toUpperCase();
         validateIfPassedCryptoNameExists(cryptoNameInUpperCase);
 
-        return getFilteredStreamWithListCrypto(cryptoNameInUpperCase)
-          .map(cryptos -> findMax(cryptos, TIME_COMPARATOR))
+        return getFilteredAggregatesOfTheLastPresentedMonth(cryptoNameInUpperCase).stream()
+          .map(PriceAggregate::newest)
+          .filter(Objects::nonNull)
           .findFirst()
           .orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
     }
@@ -121,12 +167,21 @@ public class CryptoService {
      *
      * @return {@link List<Crypto>}
      */
-    @Cacheable("parsed-cryptos-from-csv-max-price")
+    @Cacheable(value = "parsed-cryptos-from-csv-max-price", key = "{@priceStore.getVersion()}", sync = true)
     public List<Crypto> getMaxByPrice() {
-        return getStreamWithListCrypto()
-          .map(cryptos -> findMax(cryptos, PRICE_COMPARATOR))
-          .sorted(PRICE_COMPARATOR.reversed())
-          .toList();
+        return selectFromAggregates(PriceAggregate::maxPrice, PRICE_COMPARATOR.reversed(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Do the same as {@link #getMaxByPrice()}, but return only the first <b>limit</b> values.
+     *
+     * @param limit max amount of returned {@link Crypto}
+     * @return {@link List<Crypto>}
+     * @throws IllegalArgumentException in case if <b>limit</b> is less than 1
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-max-price", key = "{@priceStore.getVersion(), #limit}", sync = true)
+    public List<Crypto> getMaxByPrice(int limit) {
+        return selectFromAggregates(PriceAggregate::maxPrice, PRICE_COMPARATOR.reversed(), limit);
     }
 
     /**
@@ -138,14 +193,16 @@ public class CryptoService {
      * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
      * @throws CryptoValuesNotPresentException in case if no value present in file
      */
-    @Cacheable("parsed-cryptos-from-csv-max-price-by-name")
+    @Cacheable(value = "parsed-cryptos-from-csv-max-price-by-name",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName}", sync = true)
     public Crypto getMaxByPrice(String cryptoName) {
         checkIfEmpty(cryptoName);
         String cryptoNameInUpperCase = cryptoName.toUpperCase();
         validateIfPassedCryptoNameExists(cryptoNameInUpperCase);
 
-        return getFilteredStreamWithListCrypto(cryptoNameInUpperCase)
-          .map(cryptos -> findMax(cryptos, PRICE_COMPARATOR))
+        return getFilteredAggregatesOfTheLastPresentedMonth(cryptoNameInUpperCase).stream()
+          .map(PriceAggregate::maxPrice)
+          .filter(Objects::nonNull)
           .findFirst()
           .orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
     }
@@ -155,12 +212,21 @@ public class CryptoService {
      *
      * @return {@link List<Crypto>}
      */
-    @Cacheable("parsed-cryptos-from-csv-min-price")
+    @Cacheable(value = "parsed-cryptos-from-csv-min-price", key = "{@priceStore.getVersion()}", sync = true)
     public List<Crypto> getMinByPrice() {
-        return getStreamWithListCrypto()
-          .map(cryptos -> findMin(cryptos, PRICE_COMPARATOR))
-          .sorted(PRICE_COMPARATOR)
-          .toList();
+        return selectFromAggregates(PriceAggregate::minPrice, PRICE_COMPARATOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Do the same as {@link #getMinByPrice()}, but return only the first <b>limit</b> values.
+     *
+     * @param limit max amount of returned {@link Crypto}
+     * @return {@link List<Crypto>}
+     * @throws IllegalArgumentException in case if <b>limit</b> is less than 1
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-min-price", key = "{@priceStore.getVersion(), #limit}", sync = true)
+    public List<Crypto> getMinByPrice(int limit) {
+        return selectFromAggregates(PriceAggregate::minPrice, PRICE_COMPARATOR, limit);
     }
 
     /**
@@ -172,209 +238,456 @@ public class CryptoService {
      * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
      * @throws CryptoValuesNotPresentException in case if no value present in file
      */
-    @Cacheable("parsed-cryptos-from-csv-min-price-by-name")
+    @Cacheable(value = "parsed-cryptos-from-csv-min-price-by-name",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName}", sync = true)
     public Crypto getMinByPrice(String cryptoName) {
         checkIfEmpty(cryptoName);
         String cryptoNameInUpperCase = cryptoName.toUpperCase();
         validateIfPassedCryptoNameExists(cryptoNameInUpperCase);
 
-        return getFilteredStreamWithListCrypto(cryptoNameInUpperCase)
-          .map(cryptos -> findMin(cryptos, PRICE_COMPARATOR))
+        return getFilteredAggregatesOfTheLastPresentedMonth(cryptoNameInUpperCase).stream()
+          .map(PriceAggregate::minPrice)
+          .filter(Objects::nonNull)
           .findFirst()
           .orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
     }
 
     /**
-     * Select {@link Crypto} by specified day, then normalize by price it and convert it to the {@link NormalizedCrypto}
-     * where {@link NormalizedCrypto#index()} will be range of price (from 0 to 1).
-     * In case if neither <b>day</b> or <b>dayInMilliseconds</b> present -> do the same but for all period of time.
+     * Calculate normalized range ((max - min) / min) of the price for each Crypto for specified day and convert it to
+     * the {@link NormalizedCrypto} where {@link NormalizedCrypto#crypto()} is the last (close) value of the day and
+     * {@link NormalizedCrypto#index()} is the normalized range.
+     * Day can be any day presented in the stored files, only {@link DailyRollup} of the day are used.
+     * In case if neither <b>day</b> or <b>dayInMilliseconds</b> present -> do the same but for the last presented month,
+     * where {@link NormalizedCrypto#crypto()} is the newest value of the month.
      *
      * @param day               {@link LocalDate} required day
      * @param dayInMilliseconds {@link Long} required day in milliseconds
-     * @return {@link List<NormalizedCrypto>}
-     * @throws CryptoValuesNotPresentException in case if no value present in file
+     * @return {@link List<NormalizedCrypto>} sorted descending by {@link NormalizedCrypto#index()}
+     * @throws CryptoValuesNotPresentException in case if no value present for the day or in files
      */
-    @Cacheable("parsed-cryptos-from-csv-normalized")
+    @Cacheable(value = "parsed-cryptos-from-csv-normalized",
+      key = "{@priceStore.getVersion(), #day, #dayInMilliseconds}", sync = true)
     public List<NormalizedCrypto> normalize(LocalDate day, Long dayInMilliseconds) {
-        List<Crypto> cryptos = getCryptosByDay(day, dayInMilliseconds);
-
-        BigDecimal min = getMin(cryptos);
-        BigDecimal max = getMax(cryptos);
-        return cryptos.stream()
-          .map(crypto -> new NormalizedCrypto(crypto,
-            crypto.getPrice().subtract(min).divide(max.subtract(min), 6, RoundingMode.UP)))
-          .sorted(Comparator.comparing(NormalizedCrypto::index).reversed())
-          .toList();
+        return selectNormalized(day, dayInMilliseconds, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The same as {@link #normalize(LocalDate, Long)}, but only <b>limit</b> Crypto with the highest normalized range
+     * are returned.
+     *
+     * @param day               {@link LocalDate} required day
+     * @param dayInMilliseconds {@link Long} required day in milliseconds
+     * @param limit             max amount of returned {@link NormalizedCrypto}
+     * @return {@link List<NormalizedCrypto>} sorted descending by {@link NormalizedCrypto#index()}
+     * @throws IllegalArgumentException        in case if <b>limit</b> is less than 1
+     * @throws CryptoValuesNotPresentException in case if no value present for the day or in files
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-normalized",
+      key = "{@priceStore.getVersion(), #day, #dayInMilliseconds, #limit}", sync = true)
+    public List<NormalizedCrypto> normalize(LocalDate day, Long dayInMilliseconds, int limit) {
+        return selectNormalized(day, dayInMilliseconds, limit);
+    }
+
+    /**
+     * Provide ranking of Crypto of the last presented month by normalized range ((max - min) / min) of the price for
+     * the <b>window</b>, where {@link NormalizedCrypto#crypto()} is the newest value of the window. Ranking is
+     * maintained by {@link NormalizedRangeLeaderboard} on ingestion of files, so nothing is calculated on request.
+     *
+     * @param window {@link RankingWindow} the last presented month or the last days of each Crypto
+     * @return {@link List<NormalizedCrypto>} sorted descending by {@link NormalizedCrypto#index()}
+     * @throws CryptoValuesNotPresentException in case if no value present in files
+     */
+    public List<NormalizedCrypto> getNormalizedRangeRanking(RankingWindow window) {
+        return getNormalizedRangeRanking(window, Integer.MAX_VALUE);
     }
 
     /**
-     * Select {@link Crypto} with specified range of days and specified name in desciding order by {@link Crypto#getLocalDateTime()}
-     * 'amountOfDays' is required and cannot be (x < 1 || x > 365), bound for 'x > 365' need to avoid high loading of
-     * processor.
+     * Do the same as {@link #getNormalizedRangeRanking(RankingWindow)}, but return only the first <b>limit</b> values.
+     *
+     * @param window {@link RankingWindow} the last presented month or the last days of each Crypto
+     * @param limit  max amount of returned {@link NormalizedCrypto}
+     * @return {@link List<NormalizedCrypto>} sorted descending by {@link NormalizedCrypto#index()}
+     * @throws IllegalArgumentException        in case if <b>limit</b> is less than 1
+     * @throws CryptoValuesNotPresentException in case if no value present in files
+     */
+    public List<NormalizedCrypto> getNormalizedRangeRanking(RankingWindow window, int limit) {
+        validateIfLimitHasAppropriateValue(limit);
+        List<NormalizedCrypto> ranking = leaderboard.getRanking(window);
+        if (ranking.isEmpty()) {
+            String message = String.format("Files do not contain any records for the ranking [%s]", window);
+            log.warn(message);
+            throw new CryptoValuesNotPresentException(message);
+        }
+        return ranking.size() <= limit ? ranking : ranking.subList(0, limit);
+    }
+
+    private List<NormalizedCrypto> selectNormalized(LocalDate day, Long dayInMilliseconds, int limit) {
+        validateIfLimitHasAppropriateValue(limit);
+        Optional<LocalDate> resolvedDay = resolveDay(day, dayInMilliseconds);
+        List<NormalizedCrypto> cryptos = resolvedDay
+          .map(resolved -> normalizeDay(resolved).collect(toTopK(NORMALIZED_RANGE_COMPARATOR, limit)))
+          .orElseGet(() -> {
+              List<NormalizedCrypto> ranking = leaderboard.getRanking(RankingWindow.CURRENT_MONTH);
+              return ranking.size() <= limit ? ranking : ranking.subList(0, limit);
+          });
+
+        if (cryptos.isEmpty()) {
+            String message = String.format("Files do not contain any records for the day [%s]",
+              resolvedDay.map(LocalDate::toString).orElse("of the last presented month"));
+            log.warn(message);
+            throw new CryptoValuesNotPresentException(message);
+        }
+        return cryptos;
+    }
+
+    /**
+     * Select {@link Crypto} of the last <b>amountOfDays</b> days and specified name in descending order by
+     * {@link Crypto#getLocalDateTime()}. Days are counted back from the day of the newest record of the requested Crypto.
+     * 'amountOfDays' is required and cannot be less than 1, use
+     * {@link #getCryptoPageByNameAndRangeOfDays(int, String, int, String)} to read long periods page by page.
      * 'cryptoName' is not required field, if not present, will do it for all presented Crypto info files.
+     * Records are not collected: arguments are validated and month files are resolved eagerly, while records are merged
+     * from the newest to the oldest one only when the {@link Stream} is consumed, so the caller can write them one by
+     * one with constant memory. Result is not cached.
      *
      * @param amountOfDays required amount of days
      * @param cryptoName   short name of Crypto, Bitcoin -> BTC || btc
-     * @return {@link List<Crypto>} sorted revers by {@link Crypto#getLocalDateTime()}
-     * @throws IllegalArgumentException        in case if 'amountOfDays' is out of bound (x < 1 || x > 365)
-     * @throws CryptoValuesNotPresentException in case if no 'cryptoName' present in file
+     * @return lazy {@link Stream} of {@link Crypto} sorted revers by {@link Crypto#getLocalDateTime()}
+     * @throws IllegalArgumentException        in case if 'amountOfDays' is less than 1
+     * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
      */
-    @Cacheable("parsed-cryptos-from-csv-bound-on-amount")
-    public List<Crypto> getCryptoByNameAndRangeOfDays(int amountOfDays, String cryptoName) {
-        validateIfAmountOfDaysHasAppropriateValue(amountOfDays);
-        List<String> foldersPath = FilesUtil.getFoldersPath(pathToFolder);
-
-        return Objects.nonNull(cryptoName) ?
-          getCryptoListByNameAndRangeIfDays(amountOfDays, foldersPath, cryptoName.toUpperCase()) :
-          getCryptosInRangeOfDays(amountOfDays, foldersPath);
+    public Stream<Crypto> streamCryptoByNameAndRangeOfDays(int amountOfDays, String cryptoName) {
+        return streamCryptoByNameAndRangeOfDays(amountOfDays, cryptoName, null);
     }
 
-    private void validateIfAmountOfDaysHasAppropriateValue(int amountOfDays) {
-        if (amountOfDays < MIN_AMOUNT_OF_DAYS) {
-            String message = String.format("[amountOfDays] cannot be less than 1, current value is [%s]", amountOfDays);
-            log.warn(message);
-            throw new IllegalArgumentException(message);
-        } else if (amountOfDays > MAX_AMOUNT_OF_DAYS) {
-            String message =
-              String.format("[amountOfDays] cannot be more than 365, current value is [%s]", amountOfDays);
+    /**
+     * Select the page of records of {@link #streamCryptoByNameAndRangeOfDays(int, String)} that follow the
+     * <b>cursor</b>. Records with equal timestamp are ordered by name, so the cursor keeps timestamp and name of the
+     * last record of the previous page (see {@link PageCursor}) and the next page is found by binary search in each
+     * month file, so the work depends only on the <b>pageSize</b>, not on the position of the page. Pages are not
+     * cached.
+     *
+     * @param amountOfDays required amount of days
+     * @param cryptoName   short name of Crypto, Bitcoin -> BTC || btc
+     * @param pageSize     max amount of records in the page, cannot be (x < 1 || x > 1000)
+     * @param cursor       {@link CryptoPage#nextCursor()} of the previous page, null for the first page
+     * @return {@link CryptoPage} with records in descending order by timestamp and cursor of the next page
+     * @throws IllegalArgumentException        in case if 'amountOfDays', 'pageSize' or 'cursor' is not valid
+     * @throws CryptoNameDoesNotExistException in case if file for <b>cryptoName</b> is not present
+     */
+    public CryptoPage getCryptoPageByNameAndRangeOfDays(int amountOfDays, String cryptoName, int pageSize,
+                                                        String cursor) {
+        if (pageSize < MIN_LIMIT || pageSize > MAX_PAGE_SIZE) {
+            String message = String.format("[pageSize] cannot be less than %s and more than %s, current value is [%s]",
+              MIN_LIMIT, MAX_PAGE_SIZE, pageSize);
             log.warn(message);
             throw new IllegalArgumentException(message);
         }
+        PageCursor after = Objects.isNull(cursor) ? null : PageCursor.decode(cursor);
+
+        // one more record tells if there is the next page
+        List<Crypto> cryptos = streamCryptoByNameAndRangeOfDays(amountOfDays, cryptoName, after)
+          .limit(pageSize + 1L)
+          .toList();
+        if (cryptos.size() <= pageSize) {
+            return new CryptoPage(cryptos, null);
+        }
+        List<Crypto> page = cryptos.subList(0, pageSize);
+        return new CryptoPage(page, PageCursor.after(after, page).encode());
     }
 
-    //TODO define a way to do it via one stream
-    private List<Crypto> getCryptoListByNameAndRangeIfDays(int amountOfDays, List<String> foldersPath,
-                                                           String cryptoName) {
+    private Stream<Crypto> streamCryptoByNameAndRangeOfDays(int amountOfDays, String cryptoName, PageCursor after) {
+        validateIfAmountOfDaysHasAppropriateValue(amountOfDays);
+        if (Objects.isNull(cryptoName)) {
+            return getCryptosOfTheLastDays(amountOfDays, symbolRegistry.getMonths(), symbol -> true, after);
+        }
+
         checkIfEmpty(cryptoName);
         String cryptoNameInUpperCase = cryptoName.toUpperCase();
         validateIfPassedCryptoNameExists(cryptoNameInUpperCase);
+        return getCryptosOfTheLastDays(amountOfDays, symbolRegistry.getMonths(cryptoNameInUpperCase),
+          cryptoNameInUpperCase::equals, after);
+    }
 
-        Map<LocalDate, List<Crypto>> dayCryptoMap = defineTypeOfStreamAndProvide(amountOfDays, foldersPath)
-          .limit(calculateLimitForAmountOfFoldersWithFiles(amountOfDays))
-          .map(FilesUtil::getFileNamesWithPath)
-          .flatMap(Collection::stream)
-          .filter(fileName -> fileName.contains(cryptoNameInUpperCase))
-          .map(cryptoParser::parseFromFile)
-          .flatMap(Collection::stream)
-          .collect(Collectors.groupingBy(crypto -> crypto.getLocalDateTime().toLocalDate()));
+    /**
+     * Select {@link Crypto} with the lowest and the highest price of specified name with timestamp in range
+     * [<b>from</b>, <b>to</b>], range can cover any presented months. Extremes are found by range index of each
+     * month file, so the work does not depend on the length of the range. In case of equal prices the oldest
+     * {@link Crypto} is selected.
+     *
+     * @param cryptoName short name of Crypto, Bitcoin -> BTC || btc
+     * @param from       start of the range in milliseconds, inclusive
+     * @param to         end of the range in milliseconds, inclusive
+     * @return {@link PriceRange}
+     * @throws IllegalArgumentException        in case if <b>from</b> is after <b>to</b>
+     * @throws CryptoNameDoesNotExistException in case if there is no file for <b>cryptoName</b> in any month
+     * @throws CryptoValuesNotPresentException in case if there are no records in the range
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-range",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName, #from, #to}", sync = true)
+    public PriceRange getPriceRange(String cryptoName, long from, long to) {
+        PriceTimeline timeline = getTimelineOfRange(cryptoName, from, to);
+
+        Crypto min = timeline.findMinPrice(from, to).orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
+        Crypto max = timeline.findMaxPrice(from, to).orElseThrow(generateCryptoValuesNotPresentException(cryptoName));
+        return new PriceRange(min, max);
+    }
 
-        return collectToListWithBoundOfAmountOfDays(amountOfDays, dayCryptoMap);
+    /**
+     * Select OHLC {@link Candle} of specified name and <b>resolution</b> for periods that overlap range
+     * [<b>from</b>, <b>to</b>], range can cover any presented months. Candles are taken from {@link PriceSeries} where
+     * they are built on ingestion of the file, so the work depends on the amount of candles, not on the amount of
+     * records.
+     *
+     * @param cryptoName short name of Crypto, Bitcoin -> BTC || btc
+     * @param resolution {@link CandleResolution} period of each candle
+     * @param from       start of the range in milliseconds, inclusive
+     * @param to         end of the range in milliseconds, inclusive
+     * @return {@link List<Candle>} sorted by {@link Candle#timestampMilliseconds()}
+     * @throws IllegalArgumentException        in case if <b>from</b> is after <b>to</b> or there are more than 1000
+     *                                         periods between the first and the last record of the range
+     * @throws CryptoNameDoesNotExistException in case if there is no file for <b>cryptoName</b> in any month
+     * @throws CryptoValuesNotPresentException in case if there are no records in the range
+     */
+    @Cacheable(value = "parsed-cryptos-from-csv-candles-range",
+      key = "{@priceStore.getVersion(#cryptoName), #cryptoName, #resolution, #from, #to}", sync = true)
+    public List<Candle> getCandles(String cryptoName, CandleResolution resolution, long from, long to) {
+        PriceTimeline timeline = getTimelineOfRange(cryptoName, from, to);
+        validateIfRangeIsNotTooLarge(timeline.countPeriods(resolution, from, to, MAX_PAGE_SIZE), "candles");
+        List<Candle> candles = timeline.getCandles(resolution, from, to);
+        if (candles.isEmpty()) {
+            throw generateCryptoValuesNotPresentException(cryptoName).get();
+        }
+        return candles;
     }
 
-    //TODO define a way to do it via one stream
-    private List<Crypto> getCryptosInRangeOfDays(int amountOfDays, List<String> foldersPath) {
-        Map<LocalDate, List<Crypto>> dayCryptoMap = defineTypeOfStreamAndProvide(amountOfDays, foldersPath)
-          .limit(calculateLimitForAmountOfFoldersWithFiles(amountOfDays))
-          .map(FilesUtil::getFileNamesWithPath)
-          .flatMap(Collection::stream)
-          .map(cryptoParser::parseFromFile)
-          .flatMap(Collection::stream)
-          .collect(Collectors.groupingBy(crypto -> crypto.getLocalDateTime().toLocalDate()));
+    /**
+     * Provide simple moving average, exponential moving average and standard deviation of the price over the last
+     * <b>window</b> records for each record of specified name with timestamp in range [<b>from</b>, <b>to</b>].
+     * Statistics are kept by {@link RollingStatisticsStore} for each name and window and only records appended since
+     * the previous request are calculated.
+     *
+     * @param cryptoName short name of Crypto, Bitcoin -> BTC || btc
+     * @param window     amount of records in the window, cannot be (x < 1 || x > 1000)
+     * @param from       start of the range in milliseconds, inclusive
+     * @param to         end of the range in milliseconds, inclusive
+     * @return {@link List<RollingStatistic>} sorted by {@link RollingStatistic#timestampMilliseconds()}
+     * @throws IllegalArgumentException        in case if <b>window</b> is out of bound, <b>from</b> is after
+     *                                         <b>to</b> or there are more than 1000 records in the range
+     * @throws CryptoNameDoesNotExistException in case if there is no file for <b>cryptoName</b> in any month
+     * @throws CryptoValuesNotPresentException in case if there are no records in the range
+     */
+    public List<RollingStatistic> getRollingStatistics(String cryptoName, int window, long from, long to) {
+        checkIfEmpty(cryptoName);
+        if (window < MIN_WINDOW || window > MAX_WINDOW) {
+            String message = String.format("[window] cannot be less than %s and more than %s, current value is [%s]",
+              MIN_WINDOW, MAX_WINDOW, window);
+            log.warn(message);
+            throw new IllegalArgumentException(message);
+        }
+        validateIfRangeIsNotTooLarge(getTimelineOfRange(cryptoName, from, to).countRecords(from, to), "records");
+        String cryptoNameInUpperCase = cryptoName.toUpperCase();
 
-        return collectToListWithBoundOfAmountOfDays(amountOfDays, dayCryptoMap);
+        List<RollingStatistic> statistics =
+          rollingStatisticsStore.getStatistics(cryptoNameInUpperCase, window, from, to);
+        if (statistics.isEmpty()) {
+            throw generateCryptoValuesNotPresentException(cryptoName).get();
+        }
+        return statistics;
     }
 
-    //TODO performance tests for defining amount of days when we need parallel stream
-    private Stream<String> defineTypeOfStreamAndProvide(int amountOfDays, List<String> foldersPath) {
-        return amountOfDays < 90 ? foldersPath.stream() : foldersPath.parallelStream();
+    private PriceTimeline getTimelineOfRange(String cryptoName, long from, long to) {
+        checkIfEmpty(cryptoName);
+        validateIfRangeHasAppropriateValues(from, to);
+        String cryptoNameInUpperCase = cryptoName.toUpperCase();
+        NavigableSet<YearMonth> months = validateIfPassedCryptoNameExistsInAnyMonth(cryptoNameInUpperCase);
+
+        // rows on the borders of the range can be stored in the neighbour months in case if time zones differ
+        ZoneId zoneId = ZoneId.systemDefault();
+        YearMonth firstMonth = YearMonth.from(Instant.ofEpochMilli(from).atZone(zoneId)).minusMonths(1);
+        YearMonth lastMonth = YearMonth.from(Instant.ofEpochMilli(to).atZone(zoneId)).plusMonths(1);
+        List<PriceSeries> series = months.subSet(firstMonth, true, lastMonth, true).stream()
+          .map(month -> symbolRegistry.getFileName(cryptoNameInUpperCase, month))
+          .flatMap(Optional::stream)
+          .map(priceStore::getSeries)
+          .toList();
+        return PriceTimeline.of(cryptoNameInUpperCase, series);
+    }
+
+    private void validateIfRangeHasAppropriateValues(long from, long to) {
+        if (from > to) {
+            String message = String.format("[from] cannot be after [to], current values are [%s] and [%s]", from, to);
+            log.warn(message);
+            throw new IllegalArgumentException(message);
+        }
     }
 
     /**
-     * Calculates limit for folders amount with files of Crypto info.
-     * Works like:
-     * if amountOfDays < 31
-     * -> then we provide 2 folders (can be case when one folder contains files Crypto info for not full month)
-     * else
-     * -> amountOfDays / 30 (cannot be less than 1) and + 1 for case if Crypto info file contains info not for full month
+     * Responses of range endpoints are bounded by the same limit as pages of records, long ranges have to be requested
+     * by parts.
      */
-    private int calculateLimitForAmountOfFoldersWithFiles(int amountOfDays) {
-        return amountOfDays < 31 ? 2 : amountOfDays / 30 + 1;
+    private void validateIfRangeIsNotTooLarge(long amount, String unit) {
+        if (amount > MAX_PAGE_SIZE) {
+            String message = String.format("Range cannot contain more than %s %s, narrow the range", MAX_PAGE_SIZE,
+              unit);
+            log.warn(message);
+            throw new IllegalArgumentException(message);
+        }
     }
 
-    private List<Crypto> collectToListWithBoundOfAmountOfDays(int amountOfDays,
-                                                              Map<LocalDate, List<Crypto>> dayCryptoMap) {
-        return dayCryptoMap.entrySet().stream()
-          .limit(amountOfDays)
-          .map(Map.Entry::getValue)
-          .flatMap(Collection::stream)
-          .sorted(TIME_COMPARATOR.reversed())
-          .toList();
+    /**
+     * @return months where Crypto with <b>cryptoName</b> is presented
+     */
+    private NavigableSet<YearMonth> validateIfPassedCryptoNameExistsInAnyMonth(String cryptoName) {
+        NavigableSet<YearMonth> months = symbolRegistry.getMonths(cryptoName);
+        if (months.isEmpty()) {
+            String message = String.format("Unable to find a file with crypto name [%s] in any month", cryptoName);
+            log.warn(message);
+            throw new CryptoNameDoesNotExistException(message);
+        }
+        return months;
     }
 
-    private List<Crypto> getCryptosByDay(LocalDate day, Long dayInMilliseconds) {
-        List<Crypto> cryptos;
+    private void validateIfAmountOfDaysHasAppropriateValue(int amountOfDays) {
+        if (amountOfDays < MIN_AMOUNT_OF_DAYS) {
+            String message = String.format("[amountOfDays] cannot be less than 1, current value is [%s]", amountOfDays);
+            log.warn(message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Months are read from the newest one: the first month with records defines the newest day, and then months are
+     * read only while they can contain records of the requested days. Records are sliced by binary search from
+     * {@link PriceTimeline} of each symbol and merged lazily in descending order by timestamp, so the work depends on
+     * the amount of returned records, not on the whole history, and records are not sorted.
+     */
+    private Stream<Crypto> getCryptosOfTheLastDays(int amountOfDays, NavigableSet<YearMonth> months,
+                                                   Predicate<String> symbolFilter, PageCursor after) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        Map<String, List<PriceSeries>> seriesBySymbol = new HashMap<>();
+        LocalDate firstDay = null;
+
+        for (YearMonth month : months.descendingSet()) {
+            // rows of the first day can be stored in the previous month in case if time zones differ
+            if (Objects.nonNull(firstDay) && month.isBefore(YearMonth.from(firstDay.minusDays(1)))) {
+                break;
+            }
+            symbolRegistry.getFileNamesBySymbol(month).entrySet().stream()
+              .filter(symbolFileName -> symbolFilter.test(symbolFileName.getKey()))
+              .map(symbolFileName -> priceStore.getSeries(symbolFileName.getValue()))
+              .filter(series -> !series.isEmpty())
+              .forEach(series -> seriesBySymbol.computeIfAbsent(series.getSymbol(), symbol -> new ArrayList<>())
+                .add(series));
+            if (Objects.isNull(firstDay) && !seriesBySymbol.isEmpty()) {
+                firstDay = getNewestDay(seriesBySymbol, zoneId).minusDays(amountOfDays - 1L);
+            }
+        }
+        if (Objects.isNull(firstDay)) {
+            return Stream.empty();
+        }
+
+        long from = firstDay.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        return PriceTimeline.mergeNewestFirst(seriesBySymbol.entrySet().stream()
+          .map(symbolSeries -> PriceTimeline.of(symbolSeries.getKey(), symbolSeries.getValue()))
+          .toList(), from, after);
+    }
+
+    private LocalDate getNewestDay(Map<String, List<PriceSeries>> seriesBySymbol, ZoneId zoneId) {
+        long newestTimestamp = seriesBySymbol.values().stream()
+          .flatMap(Collection::stream)
+          .map(PriceSeries::getAggregate)
+          .mapToLong(aggregate -> aggregate.newest().getTimestampMilliseconds())
+          .max()
+          .orElseThrow(CryptoValuesNotPresentException::new);
+        return LocalDate.ofInstant(Instant.ofEpochMilli(newestTimestamp), zoneId);
+    }
 
+    private Optional<LocalDate> resolveDay(LocalDate day, Long dayInMilliseconds) {
         if (Objects.nonNull(day)) {
-            cryptos = getCryptosByDay(day);
+            return Optional.of(day);
         } else if (Objects.nonNull(dayInMilliseconds) && dayInMilliseconds != 0L) {
-            cryptos = getCryptosByDay(Instant.ofEpochMilli(dayInMilliseconds)
+            return Optional.of(Instant.ofEpochMilli(dayInMilliseconds)
               .atZone(ZoneId.systemDefault())
               .toLocalDate());
-        } else {
-            cryptos = getCryptoStream().toList();
         }
+        return Optional.empty();
+    }
 
-        return cryptos;
+    /**
+     * Rows of the day can be stored in the files of the neighbour months in case if the time zone of the system differs
+     * from the time zone of the files, so rollups of the same symbol are merged.
+     */
+    private Stream<NormalizedCrypto> normalizeDay(LocalDate day) {
+        Set<YearMonth> months = Stream.of(day.minusDays(1), day, day.plusDays(1))
+          .map(YearMonth::from)
+          .collect(Collectors.toSet());
+
+        return months.stream()
+          .map(symbolRegistry::getFileNamesBySymbol)
+          .flatMap(fileNamesBySymbol -> fileNamesBySymbol.values().stream())
+          .map(priceStore::getSeries)
+          .map(series -> series.getDailyRollup(day.toEpochDay()))
+          .flatMap(Optional::stream)
+          .collect(Collectors.toMap(DailyRollup::symbol, Function.identity(), DailyRollup::merge))
+          .values().stream()
+          .map(rollup -> NormalizedCrypto.of(rollup.close(), rollup.low().getPrice(), rollup.high().getPrice()));
+    }
+
+    /**
+     * Only <b>limit</b> values are kept during selection, so the whole list of symbols is never sorted.
+     */
+    private List<Crypto> selectFromAggregates(Function<PriceAggregate, Crypto> valueExtractor,
+                                              Comparator<Crypto> comparator, int limit) {
+        validateIfLimitHasAppropriateValue(limit);
+        return getAggregatesOfTheLastPresentedMonth().stream()
+          .map(valueExtractor)
+          .map(Optional::ofNullable)
+          .map(crypto -> crypto.orElseThrow(CryptoValuesNotPresentException::new))
+          .collect(toTopK(comparator, limit));
     }
 
-    private Stream<Crypto> getCryptoStream() {
-        return getStreamWithListCrypto()
-          .flatMap(Collection::stream);
+    private void validateIfLimitHasAppropriateValue(int limit) {
+        if (limit < MIN_LIMIT) {
+            String message = String.format("[limit] cannot be less than 1, current value is [%s]", limit);
+            log.warn(message);
+            throw new IllegalArgumentException(message);
+        }
     }
 
-    private List<Crypto> getCryptosByDay(LocalDate day) {
-        return getCryptoStream()
-          .filter(crypto -> crypto.getLocalDateTime().toLocalDate().equals(day))
+    private List<PriceSeries> getSeriesOfTheLastPresentedMonth() {
+        return symbolRegistry.getFileNamesBySymbol(symbolRegistry.getLastPresentedMonth()).values().stream()
+          .map(priceStore::getSeries)
           .toList();
     }
 
-    private Stream<List<Crypto>> getStreamWithListCrypto() {
-        String folderPathWithFiles = getFolderPathOfTheLastPresentedMonth(pathToFolder);
-        return getFileNamesWithPath(folderPathWithFiles).stream()
-          .map(cryptoParser::parseFromFile);
+    /**
+     * Aggregates are built by {@link PriceStore} once on ingestion of the file, so getting of them does not scan rows.
+     */
+    private List<PriceAggregate> getAggregatesOfTheLastPresentedMonth() {
+        return getSeriesOfTheLastPresentedMonth().stream()
+          .map(PriceSeries::getAggregate)
+          .toList();
     }
 
-    private Stream<List<Crypto>> getFilteredStreamWithListCrypto(String cryptoName) {
-        String folderPathWithFiles = getFolderPathOfTheLastPresentedMonth(pathToFolder);
-        return getFileNamesWithPath(folderPathWithFiles).stream()
-          .filter(fileName -> fileName.contains(cryptoName))
-          .map(cryptoParser::parseFromFile);
+    private List<PriceAggregate> getFilteredAggregatesOfTheLastPresentedMonth(String cryptoName) {
+        return symbolRegistry.getFileName(cryptoName, symbolRegistry.getLastPresentedMonth()).stream()
+          .map(priceStore::getSeries)
+          .map(PriceSeries::getAggregate)
+          .toList();
     }
 
     private void validateIfPassedCryptoNameExists(String cryptoName) {
-        String folderPathWithFiles = getFolderPathOfTheLastPresentedMonth(pathToFolder);
-        List<String> cryptoNames = FilesUtil.getCryptoNamesFromFileNames(folderPathWithFiles);
-        if (cryptoNames.stream().noneMatch(splitFileName -> splitFileName.equals(cryptoName))) {
+        Set<String> cryptoNames = symbolRegistry.getSymbolsOfTheLastPresentedMonth();
+        if (!cryptoNames.contains(cryptoName)) {
             String message = String.format("Unable to find a file with crypto name [%s]. " +
               "Please take a look at existing names and choose one that appropriate for you. " +
-              "Exists: [%s]", cryptoName, String.join(", ", cryptoNames));
+              "Exists: [%s]", cryptoName, String.join(", ", new TreeSet<>(cryptoNames)));
             log.warn(message);
             throw new CryptoNameDoesNotExistException(message);
         }
     }
 
-    private BigDecimal getMin(List<Crypto> cryptos) {
-        return cryptos.stream()
-          .map(Crypto::getPrice)
-          .min(BigDecimal::compareTo)
-          .orElseThrow(CryptoValuesNotPresentException::new);
-    }
-
-    private BigDecimal getMax(List<Crypto> cryptos) {
-        return cryptos.stream()
-          .map(Crypto::getPrice)
-          .max(BigDecimal::compareTo)
-          .orElseThrow(CryptoValuesNotPresentException::new);
-    }
-
-    private Crypto findMin(List<Crypto> cryptos, Comparator<Crypto> comparator) {
-        return cryptos.stream().min(comparator).orElseThrow(CryptoValuesNotPresentException::new);
-    }
-
-    private Crypto findMax(List<Crypto> cryptos, Comparator<Crypto> comparator) {
-        return cryptos.stream().max(comparator).orElseThrow(CryptoValuesNotPresentException::new);
-    }
-
     private void checkIfEmpty(String cryptoName) {
         if (StringUtils.isEmpty(cryptoName)) {
             log.warn("Provided name of Crypto is null or empty");
@@ -383,9 +696,12 @@ public class CryptoService {
     }
 
     private Supplier<CryptoValuesNotPresentException> generateCryptoValuesNotPresentException(String cryptoName) {
-        String message = String.format("File does not contain any records for Crypto with the name [%s]", cryptoName);
-        log.warn(message);
-        return () -> new CryptoValuesNotPresentException(message);
+        return () -> {
+            String message =
+              String.format("File does not contain any records for Crypto with the name [%s]", cryptoName);
+            log.warn(message);
+            return new CryptoValuesNotPresentException(message);
+        };
     }
 
 }
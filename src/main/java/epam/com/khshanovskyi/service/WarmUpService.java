@@ -0,0 +1,95 @@
+package epam.com.khshanovskyi.service;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import epam.com.khshanovskyi.store.PriceStore;
+import epam.com.khshanovskyi.store.SymbolRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Eagerly loads all months known by {@link SymbolRegistry} into {@link PriceStore} in parallel on bounded executor
+ * after the start of the application and then pre-fills caches of {@link CryptoService}. Service is not ready
+ * ({@link #isReady()}) until the warm-up is finished, so traffic should not be routed to the instance with cold caches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUpService {
+
+    @Value("${warmup.enabled}")
+    private boolean warmUpEnabled;
+    @Value("${warmup.threads}")
+    private int warmUpThreads;
+    private final PriceStore priceStore;
+    private final SymbolRegistry symbolRegistry;
+    private final CryptoService cryptoService;
+    private final AtomicBoolean ready = new AtomicBoolean();
+
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            ready.set(true);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, warmUpThreads),
+          new CustomizableThreadFactory("crypto-warm-up-"));
+
+        CompletableFuture.supplyAsync(symbolRegistry::getMonths, executor)
+          .thenCompose(months -> {
+              log.info("Start warm-up of [{}] months with Crypto info files...", months.size());
+              return CompletableFuture.allOf(months.stream()
+                .map(month -> CompletableFuture.runAsync(() -> loadMonth(month), executor))
+                .toArray(CompletableFuture[]::new));
+          })
+          .thenRunAsync(this::fillCaches, executor)
+          .whenComplete((result, ex) -> {
+              if (ex != null) {
+                  log.warn("Warm-up is finished with failure, data will be loaded on demand", ex);
+              } else {
+                  log.info("Warm-up is finished in [{}] ms", System.currentTimeMillis() - start);
+              }
+              ready.set(true);
+              executor.shutdown();
+          });
+    }
+
+    private void loadMonth(YearMonth month) {
+        symbolRegistry.getFileNamesBySymbol(month).values().forEach(priceStore::getSeries);
+    }
+
+    /**
+     * Compute the most requested results of {@link CryptoService}, so they are cached before requests come.
+     */
+    public void fillCaches() {
+        cryptoService.getOldest();
+        cryptoService.getNewest();
+        cryptoService.getMaxByPrice();
+        cryptoService.getMinByPrice();
+        cryptoService.normalize(null, null);
+
+        symbolRegistry.getSymbolsOfTheLastPresentedMonth().forEach(cryptoName -> {
+            cryptoService.getOldest(cryptoName);
+            cryptoService.getNewest(cryptoName);
+            cryptoService.getMaxByPrice(cryptoName);
+            cryptoService.getMinByPrice(cryptoName);
+        });
+    }
+
+}
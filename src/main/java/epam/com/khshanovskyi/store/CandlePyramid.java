@@ -0,0 +1,189 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import epam.com.khshanovskyi.dto.Candle;
+
+/**
+ * Multi-resolution rollups of {@link PriceSeries}: hourly candles are built from rows, daily candles from hourly ones
+ * and weekly candles from daily ones, so each level is built in time linear to the previous one and candles of any
+ * period are found by binary search.
+ * Candles keep indexes of rows of the series instead of prices, so the whole pyramid takes several primitive arrays.
+ * Pyramid of the series that continues another one reuses candles of the continued pyramid and builds again only the
+ * last candle of each level along with candles of appended rows.
+ */
+final class CandlePyramid {
+
+    private final PriceSeries series;
+    private final ZoneId zoneId;
+    private final Map<CandleResolution, Level> levels;
+
+    private CandlePyramid(PriceSeries series, ZoneId zoneId, Map<CandleResolution, Level> levels) {
+        this.series = series;
+        this.zoneId = zoneId;
+        this.levels = levels;
+    }
+
+    static CandlePyramid of(PriceSeries series) {
+        return of(series, null);
+    }
+
+    /**
+     * @param continued pyramid of the series which rows are the first rows of the <b>series</b>, null in case if all
+     *                  candles have to be built
+     */
+    static CandlePyramid of(PriceSeries series, CandlePyramid continued) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        // periods depend on the time zone, so candles of the other time zone cannot be reused
+        Map<CandleResolution, Level> previous = continued != null && continued.zoneId.equals(zoneId) ?
+          continued.levels :
+          Map.of();
+        Map<CandleResolution, Level> levels = new EnumMap<>(CandleResolution.class);
+        Level level = buildFromRows(series, previous.get(CandleResolution.HOUR), zoneId);
+        levels.put(CandleResolution.HOUR, level);
+        level = buildFromLevel(series, level, previous.get(CandleResolution.DAY), CandleResolution.DAY, zoneId);
+        levels.put(CandleResolution.DAY, level);
+        levels.put(CandleResolution.WEEK,
+          buildFromLevel(series, level, previous.get(CandleResolution.WEEK), CandleResolution.WEEK, zoneId));
+        return new CandlePyramid(series, zoneId, levels);
+    }
+
+    /**
+     * @return {@link List} of {@link Candle} of periods that overlap range [from, to] in ascending order by time
+     */
+    List<Candle> getCandles(CandleResolution resolution, long from, long to) {
+        Level level = levels.get(resolution);
+        int first = level.lowerBound(resolution.getPeriodStart(from, zoneId));
+        int last = level.lowerBound(resolution.getNextPeriodStart(resolution.getPeriodStart(to, zoneId), zoneId));
+        return IntStream.range(first, last)
+          .mapToObj(index -> toCandle(level, index))
+          .toList();
+    }
+
+    private Candle toCandle(Level level, int index) {
+        long start = level.starts()[index];
+        return new Candle(series.getSymbol(), start, LocalDateTime.ofInstant(Instant.ofEpochMilli(start), zoneId),
+          series.toPrice(level.opens()[index]), series.toPrice(level.highs()[index]),
+          series.toPrice(level.lows()[index]), series.toPrice(level.closes()[index]), level.counts()[index]);
+    }
+
+    /**
+     * @param previous candles of the first rows of the <b>series</b>, all of them except the last one are kept, null
+     *                 in case if all candles have to be built
+     */
+    private static Level buildFromRows(PriceSeries series, Level previous, ZoneId zoneId) {
+        int kept = getKeptSize(previous);
+        int from = kept < getSize(previous) ? previous.opens()[kept] : 0;
+        LevelBuilder builder = new LevelBuilder(previous, kept, kept + series.size() - from);
+        while (from < series.size()) {
+            long start = CandleResolution.HOUR.getPeriodStart(series.getTimestamp(from), zoneId);
+            int to = series.lowerBound(CandleResolution.HOUR.getNextPeriodStart(start, zoneId));
+            int high = from;
+            int low = from;
+            for (int i = from + 1; i < to; i++) {
+                high = series.getPrice(i) > series.getPrice(high) ? i : high;
+                low = series.getPrice(i) < series.getPrice(low) ? i : low;
+            }
+            builder.add(start, from, high, low, to - 1, to - from);
+            from = to;
+        }
+        return builder.build();
+    }
+
+    private static Level buildFromLevel(PriceSeries series, Level source, Level previous, CandleResolution resolution,
+                                        ZoneId zoneId) {
+        int kept = getKeptSize(previous);
+        int from = kept < getSize(previous) ? source.lowerBound(previous.starts()[kept]) : 0;
+        LevelBuilder builder = new LevelBuilder(previous, kept, kept + source.size() - from);
+        while (from < source.size()) {
+            long start = resolution.getPeriodStart(source.starts()[from], zoneId);
+            long end = resolution.getNextPeriodStart(start, zoneId);
+            int high = source.highs()[from];
+            int low = source.lows()[from];
+            int count = source.counts()[from];
+            int to = from + 1;
+            for (; to < source.size() && source.starts()[to] < end; to++) {
+                high = series.getPrice(source.highs()[to]) > series.getPrice(high) ? source.highs()[to] : high;
+                low = series.getPrice(source.lows()[to]) < series.getPrice(low) ? source.lows()[to] : low;
+                count += source.counts()[to];
+            }
+            builder.add(start, source.opens()[from], high, low, source.closes()[to - 1], count);
+            from = to;
+        }
+        return builder.build();
+    }
+
+    private static int getSize(Level level) {
+        return level == null ? 0 : level.size();
+    }
+
+    /**
+     * @return amount of the first candles of the <b>level</b> that are not changed by appended rows, the last candle
+     * can be extended by them
+     */
+    private static int getKeptSize(Level level) {
+        return Math.max(0, getSize(level) - 1);
+    }
+
+    /**
+     * Candles of one resolution in ascending order by start of the period, values are indexes of rows of the series.
+     */
+    private record Level(long[] starts, int[] opens, int[] highs, int[] lows, int[] closes, int[] counts) {
+
+        int size() {
+            return starts.length;
+        }
+
+        int lowerBound(long timestamp) {
+            int index = Arrays.binarySearch(starts, timestamp);
+            return index < 0 ? -index - 1 : index;
+        }
+    }
+
+    private static final class LevelBuilder {
+
+        private final long[] starts;
+        private final int[] opens;
+        private final int[] highs;
+        private final int[] lows;
+        private final int[] closes;
+        private final int[] counts;
+        private int size;
+
+        /**
+         * @param prefix candles which first <b>size</b> ones are copied, null in case if size is 0
+         */
+        private LevelBuilder(Level prefix, int size, int capacity) {
+            this.starts = prefix == null ? new long[capacity] : Arrays.copyOf(prefix.starts(), capacity);
+            this.opens = prefix == null ? new int[capacity] : Arrays.copyOf(prefix.opens(), capacity);
+            this.highs = prefix == null ? new int[capacity] : Arrays.copyOf(prefix.highs(), capacity);
+            this.lows = prefix == null ? new int[capacity] : Arrays.copyOf(prefix.lows(), capacity);
+            this.closes = prefix == null ? new int[capacity] : Arrays.copyOf(prefix.closes(), capacity);
+            this.counts = prefix == null ? new int[capacity] : Arrays.copyOf(prefix.counts(), capacity);
+            this.size = size;
+        }
+
+        private void add(long start, int open, int high, int low, int close, int count) {
+            starts[size] = start;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            counts[size] = count;
+            size++;
+        }
+
+        private Level build() {
+            return new Level(Arrays.copyOf(starts, size), Arrays.copyOf(opens, size), Arrays.copyOf(highs, size),
+              Arrays.copyOf(lows, size), Arrays.copyOf(closes, size), Arrays.copyOf(counts, size));
+        }
+    }
+
+}
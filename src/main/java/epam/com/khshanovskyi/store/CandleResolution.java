@@ -0,0 +1,54 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Resolutions of {@link CandlePyramid}, periods are aligned in the system time zone, weeks start on Monday.
+ */
+public enum CandleResolution {
+
+    HOUR,
+    DAY,
+    WEEK;
+
+    /**
+     * Timestamps are bounded, so start of the period of any passed timestamp can be presented in milliseconds.
+     */
+    private static final long MAX_TIMESTAMP = Long.MAX_VALUE / 2;
+    private static final long MIN_TIMESTAMP = Long.MIN_VALUE / 2;
+
+    /**
+     * @return start of the period that contains <b>timestamp</b> in milliseconds
+     */
+    public long getPeriodStart(long timestamp, ZoneId zoneId) {
+        ZonedDateTime time = Instant.ofEpochMilli(bound(timestamp)).atZone(zoneId);
+        ZonedDateTime start = switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.toLocalDate().atStartOfDay(zoneId);
+            case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay(zoneId);
+        };
+        return start.toInstant().toEpochMilli();
+    }
+
+    /**
+     * @return start of the period that follows the period started at <b>periodStart</b> in milliseconds
+     */
+    public long getNextPeriodStart(long periodStart, ZoneId zoneId) {
+        ZonedDateTime start = Instant.ofEpochMilli(bound(periodStart)).atZone(zoneId);
+        ZonedDateTime next = switch (this) {
+            case HOUR -> start.plusHours(1);
+            case DAY -> start.toLocalDate().plusDays(1).atStartOfDay(zoneId);
+            case WEEK -> start.toLocalDate().plusWeeks(1).atStartOfDay(zoneId);
+        };
+        return next.toInstant().toEpochMilli();
+    }
+
+    private static long bound(long timestamp) {
+        return Math.max(MIN_TIMESTAMP, Math.min(MAX_TIMESTAMP, timestamp));
+    }
+}
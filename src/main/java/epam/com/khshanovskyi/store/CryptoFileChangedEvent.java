@@ -0,0 +1,10 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.YearMonth;
+
+/**
+ * Published when Crypto info file of the <b>symbol</b> for the <b>month</b> is created, modified or deleted and
+ * {@link PriceStore} already contains actual data of it.
+ */
+public record CryptoFileChangedEvent(String fileName, String symbol, YearMonth month) {
+}
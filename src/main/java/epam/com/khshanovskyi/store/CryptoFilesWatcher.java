@@ -0,0 +1,167 @@
+package epam.com.khshanovskyi.store;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import epam.com.khshanovskyi.util.FilesUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the folder with Crypto info files and its month folders via {@link WatchService}.
+ * Created or modified file is ingested by {@link PriceStore#reload(String)} (only appended rows are parsed in case if
+ * the file was just appended), deleted one is removed from the store, and after that
+ * {@link CryptoFileChangedEvent} is published, so only caches that depend on the symbol and month can be evicted.
+ * Files of the deleted month folder do not produce own events, so each file of the folder known by the store is
+ * removed.
+ * Events are collected during <b>debounceMilliseconds</b>, so a file that is being written is parsed once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CryptoFilesWatcher implements SmartLifecycle {
+
+    @Value("${path.to.folder.with.crypto.files}")
+    private String pathToFolder;
+    @Value("${watcher.enabled}")
+    private boolean watcherEnabled;
+    @Value("${watcher.debounce.ms}")
+    private long debounceMilliseconds;
+    private final PriceStore priceStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<WatchKey, Path> watchedFolders = new ConcurrentHashMap<>();
+
+    private volatile WatchService watchService;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (!watcherEnabled) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(Path.of(pathToFolder));
+            FilesUtil.getFoldersPath(pathToFolder).forEach(folderPath -> register(Path.of(folderPath)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to watch folder [{}], changes of files will be picked up only by cache eviction",
+              pathToFolder, e);
+            return;
+        }
+
+        running = true;
+        Thread thread = new Thread(this::watch, "crypto-files-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Watching folder [{}] for changes of Crypto info files", pathToFolder);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Unable to close watcher of the folder [{}]", pathToFolder, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                WatchKey watchKey = watchService.take();
+                Thread.sleep(debounceMilliseconds);
+
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                do {
+                    collectChanges(watchKey, changedFiles);
+                } while ((watchKey = watchService.poll()) != null);
+
+                changedFiles.forEach(this::ingest);
+            } catch (ClosedWatchServiceException e) {
+                log.debug("Watcher of the folder [{}] is closed", pathToFolder);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Unable to handle changes in the folder [{}]", pathToFolder, e);
+            }
+        }
+    }
+
+    private void collectChanges(WatchKey watchKey, Set<Path> changedFiles) {
+        Path folder = watchedFolders.get(watchKey);
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (folder == null || event.kind() == OVERFLOW) {
+                continue;
+            }
+            Path changed = folder.resolve((Path) event.context());
+            if (folder.equals(Path.of(pathToFolder))) {
+                collectChangesOfMonthFolder(changed, changedFiles);
+            } else if (FilesUtil.isCryptoFileName(changed.toString())) {
+                changedFiles.add(changed);
+            }
+        }
+        if (!watchKey.reset()) {
+            watchedFolders.remove(watchKey);
+        }
+    }
+
+    private void collectChangesOfMonthFolder(Path folder, Set<Path> changedFiles) {
+        if (Files.isDirectory(folder)) {
+            register(folder);
+            FilesUtil.getFileNamesWithPath(folder.toString()).forEach(fileName -> changedFiles.add(Path.of(fileName)));
+        } else {
+            priceStore.getKnownFileNames(folder).forEach(fileName -> changedFiles.add(Path.of(fileName)));
+        }
+    }
+
+    private void ingest(Path file) {
+        String fileName = file.toString();
+        try {
+            SeriesKey key = Files.isRegularFile(file) ? priceStore.reload(fileName) : priceStore.remove(fileName);
+            log.debug("File [{}] is changed, series [{}] is ingested", fileName, key);
+            eventPublisher.publishEvent(new CryptoFileChangedEvent(fileName, key.symbol(), key.month()));
+        } catch (RuntimeException e) {
+            log.warn("Unable to ingest changed file [{}]", fileName, e);
+        }
+    }
+
+    private void register(Path folder) {
+        try {
+            watchedFolders.put(folder.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), folder);
+            log.debug("Folder [{}] is registered in watcher", folder);
+        } catch (IOException e) {
+            log.warn("Unable to watch folder [{}]", folder, e);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package epam.com.khshanovskyi.store;
+
+import epam.com.khshanovskyi.dto.Crypto;
+
+/**
+ * Rollup of one symbol for one day (in the system time zone) keyed by epoch-day: the first (open), the highest, the
+ * lowest and the last (close) rows of the day and amount of rows.
+ */
+public record DailyRollup(String symbol, long epochDay, Crypto open, Crypto high, Crypto low, Crypto close,
+                          int count) {
+
+    /**
+     * Merge rollup of the same symbol and day from another series, it can happen only for the days on the border of
+     * months when the time zone of the system differs from the time zone of the files.
+     * Rollups of different days can be merged as well to get the rollup of the period, the day of this rollup is kept.
+     */
+    public DailyRollup merge(DailyRollup other) {
+        return new DailyRollup(symbol, epochDay,
+          other.open.getTimestampMilliseconds() < open.getTimestampMilliseconds() ? other.open : open,
+          other.high.getPrice().compareTo(high.getPrice()) > 0 ? other.high : high,
+          other.low.getPrice().compareTo(low.getPrice()) < 0 ? other.low : low,
+          other.close.getTimestampMilliseconds() > close.getTimestampMilliseconds() ? other.close : close,
+          count + other.count);
+    }
+
+    /**
+     * Extend the rollup by the rollup of rows of the same day that follow rows of this rollup, so the result is the
+     * same as the rollup built from all rows: the earlier row wins in case of equal extremes and the later rollup
+     * provides the close.
+     */
+    DailyRollup append(DailyRollup next) {
+        return new DailyRollup(symbol, epochDay, open,
+          next.high.getPrice().compareTo(high.getPrice()) > 0 ? next.high : high,
+          next.low.getPrice().compareTo(low.getPrice()) < 0 ? next.low : low,
+          next.close, count + next.count);
+    }
+
+}
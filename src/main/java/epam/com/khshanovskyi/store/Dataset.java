@@ -0,0 +1,41 @@
+package epam.com.khshanovskyi.store;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable state of all data of {@link PriceStore}: {@link DatasetVersions}, registry of files, ingested series and
+ * rankings of the leaderboard. The changed state is built aside and published as a whole, so readers always see the
+ * registry, series and rankings of the same version.
+ * <br>
+ * Registry and leaderboard are null until they are built on the first access, series are added on the first access
+ * of the file. Such additions do not change data, so they are done without the change of versions.
+ */
+record Dataset(DatasetVersions versions, SymbolRegistry.Registry registry, Map<SeriesKey, IngestedSeries> series,
+               NormalizedRangeLeaderboard.Leaderboard leaderboard) {
+
+    static Dataset empty() {
+        return new Dataset(DatasetVersions.initial(), null, Map.of(), null);
+    }
+
+    Dataset withRegistry(SymbolRegistry.Registry registry) {
+        return new Dataset(versions, registry, series, leaderboard);
+    }
+
+    Dataset withLeaderboard(NormalizedRangeLeaderboard.Leaderboard leaderboard) {
+        return new Dataset(versions, registry, series, leaderboard);
+    }
+
+    /**
+     * @return dataset with the <b>loaded</b> series which keys are not present yet, the same dataset if all of them are
+     * present
+     */
+    Dataset withAbsentSeries(Map<SeriesKey, IngestedSeries> loaded) {
+        Map<SeriesKey, IngestedSeries> added = new HashMap<>(series);
+        loaded.forEach(added::putIfAbsent);
+        return added.size() == series.size() ?
+          this :
+          new Dataset(versions, registry, Map.copyOf(added), leaderboard);
+    }
+
+}
@@ -0,0 +1,15 @@
+package epam.com.khshanovskyi.store;
+
+/**
+ * Version of the data in {@link PriceStore}: <b>number</b> grows on each change of the data and <b>lastModified</b>
+ * is time of the change in milliseconds, both never decrease.
+ */
+public record DatasetVersion(long number, long lastModified) {
+
+    /**
+     * @return the newer of two versions
+     */
+    public static DatasetVersion latest(DatasetVersion first, DatasetVersion second) {
+        return first.number() >= second.number() ? first : second;
+    }
+}
@@ -0,0 +1,102 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Monotonically increasing versions of the data in {@link PriceStore}: the whole dataset, each (symbol, month) series,
+ * each symbol and the structure (set of series). All versions take numbers from one counter that starts from the time
+ * of creation in milliseconds, so numbers keep growing across restarts of the application.
+ * <br>
+ * Versions are immutable and published along with the data of the {@link Dataset}, so the version never differs from
+ * the data it is provided with and results cached by the version do not need to be evicted on change.
+ */
+public final class DatasetVersions {
+
+    private final DatasetVersion datasetVersion;
+    private final DatasetVersion structureVersion;
+    private final Map<String, NavigableMap<YearMonth, DatasetVersion>> versionsOfMonthsBySymbol;
+    private final Map<String, DatasetVersion> versionBySymbol;
+
+    private DatasetVersions(DatasetVersion datasetVersion, DatasetVersion structureVersion,
+                            Map<String, NavigableMap<YearMonth, DatasetVersion>> versionsOfMonthsBySymbol,
+                            Map<String, DatasetVersion> versionBySymbol) {
+        this.datasetVersion = datasetVersion;
+        this.structureVersion = structureVersion;
+        this.versionsOfMonthsBySymbol = versionsOfMonthsBySymbol;
+        this.versionBySymbol = versionBySymbol;
+    }
+
+    static DatasetVersions initial() {
+        long createdAt = System.currentTimeMillis();
+        DatasetVersion version = new DatasetVersion(createdAt, createdAt);
+        return new DatasetVersions(version, version, Map.of(), Map.of());
+    }
+
+    /**
+     * @return version of the whole dataset
+     */
+    public DatasetVersion get() {
+        return datasetVersion;
+    }
+
+    /**
+     * @param symbol symbol of Crypto in any case, null for the version of the structure
+     * @return version of all series of the <b>symbol</b>, but not older than the version of the structure, so adding
+     * or removing of any series changes it too
+     */
+    public DatasetVersion get(String symbol) {
+        if (symbol == null) {
+            return structureVersion;
+        }
+        DatasetVersion version = versionBySymbol.get(symbol.toUpperCase());
+        return version == null ? structureVersion : DatasetVersion.latest(version, structureVersion);
+    }
+
+    /**
+     * @return version of series of the <b>symbol</b> for months in range ['from', 'to'], but not older than the
+     * version of the structure, so adding or removing of any series changes it too
+     */
+    public DatasetVersion get(String symbol, YearMonth from, YearMonth to) {
+        NavigableMap<YearMonth, DatasetVersion> versionByMonth = versionsOfMonthsBySymbol.get(symbol.toUpperCase());
+        if (versionByMonth == null || from.isAfter(to)) {
+            return structureVersion;
+        }
+        return versionByMonth.subMap(from, true, to, true)
+          .values()
+          .stream()
+          .reduce(structureVersion, DatasetVersion::latest);
+    }
+
+    /**
+     * @param changedSeries keys of the changed series
+     * @param structural    true in case if series are added or removed or the registry of files is changed
+     * @return versions where the changed series, their symbols, the dataset and, in case if the change is
+     * <b>structural</b>, the structure have the one new version, the same versions if nothing is changed
+     */
+    DatasetVersions change(Set<SeriesKey> changedSeries, boolean structural) {
+        if (changedSeries.isEmpty() && !structural) {
+            return this;
+        }
+        DatasetVersion version = new DatasetVersion(datasetVersion.number() + 1,
+          Math.max(System.currentTimeMillis(), datasetVersion.lastModified()));
+        Map<String, NavigableMap<YearMonth, DatasetVersion>> changedOfMonths = new HashMap<>(versionsOfMonthsBySymbol);
+        Map<String, DatasetVersion> changedBySymbol = new HashMap<>(versionBySymbol);
+        changedSeries.forEach(key -> {
+            // only months of the changed symbols are copied
+            NavigableMap<YearMonth, DatasetVersion> versionByMonth = new TreeMap<>(
+              changedOfMonths.getOrDefault(key.symbol(), Collections.emptyNavigableMap()));
+            versionByMonth.put(key.month(), version);
+            changedOfMonths.put(key.symbol(), Collections.unmodifiableNavigableMap(versionByMonth));
+            changedBySymbol.put(key.symbol(), version);
+        });
+        return new DatasetVersions(version, structural ? version : structureVersion, Map.copyOf(changedOfMonths),
+          Map.copyOf(changedBySymbol));
+    }
+
+}
@@ -0,0 +1,61 @@
+package epam.com.khshanovskyi.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * State of the Crypto info file at the moment of its ingestion into {@link PriceStore}: {@link FileVersion}, offset
+ * right after the last parsed byte, amount of parsed rows and checksum of the head of the file.
+ * <br>
+ * File is treated as appended only if it is longer than parsed offset, the parsed part still ends with the line
+ * separator and its head has the same checksum, otherwise file was truncated or rewritten and has to be parsed again.
+ */
+record FileIngestState(FileVersion version, long parsedOffset, int rowCount, long headChecksum) {
+
+    private static final int HEAD_SIZE = 1024;
+
+    static FileIngestState of(FileVersion version, long parsedOffset, int rowCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(version.path()), StandardOpenOption.READ)) {
+            return new FileIngestState(version, parsedOffset, rowCount, headChecksum(channel, parsedOffset));
+        }
+    }
+
+    boolean isActualFor(FileVersion version) {
+        return this.version.equals(version);
+    }
+
+    /**
+     * @param version actual version of the same file
+     */
+    boolean isAppendedIn(FileVersion version) throws IOException {
+        if (version.length() <= parsedOffset) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(version.path()), StandardOpenOption.READ)) {
+            return endsWithLineSeparator(channel, parsedOffset) && headChecksum(channel, parsedOffset) == headChecksum;
+        }
+    }
+
+    private static boolean endsWithLineSeparator(FileChannel channel, long offset) throws IOException {
+        if (offset == 0) {
+            return true;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        return channel.read(last, offset - 1) == 1 && last.get(0) == '\n';
+    }
+
+    private static long headChecksum(FileChannel channel, long parsedOffset) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(HEAD_SIZE, parsedOffset));
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // read till the end of the head
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(head.flip());
+        return checksum.getValue();
+    }
+
+}
@@ -0,0 +1,19 @@
+package epam.com.khshanovskyi.store;
+
+import java.io.File;
+
+/**
+ * Version of the Crypto info file: absolute path, size and last modified time. {@link PriceSeries} parsed from the
+ * file stays valid while the version of the file is the same, so the file is parsed at most once per version.
+ */
+record FileVersion(String path, long length, long lastModified) {
+
+    /**
+     * @return version of the file, size and last modified time are zero in case if file is not present
+     */
+    static FileVersion of(String fileName) {
+        File file = new File(fileName);
+        return new FileVersion(file.toPath().toAbsolutePath().normalize().toString(), file.length(),
+          file.lastModified());
+    }
+}
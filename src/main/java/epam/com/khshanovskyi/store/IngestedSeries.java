@@ -0,0 +1,13 @@
+package epam.com.khshanovskyi.store;
+
+/**
+ * {@link PriceSeries} of the Crypto info file along with the {@link FileIngestState} it was parsed from, state is null
+ * in case if it was unable to save it, so the file is parsed fully on the next change.
+ */
+record IngestedSeries(PriceSeries series, FileIngestState state) {
+
+    boolean isActualFor(FileVersion version) {
+        return state != null && state.isActualFor(version);
+    }
+
+}
@@ -0,0 +1,187 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import epam.com.khshanovskyi.dto.NormalizedCrypto;
+import epam.com.khshanovskyi.exception.UnableToFindFolderByPathException;
+import epam.com.khshanovskyi.store.SymbolRegistry.Registry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rankings of Crypto of the last presented month by normalized range ((max - min) / min) for each
+ * {@link RankingWindow}, so requests only read the ready ordering.
+ * Rankings are a part of the {@link Dataset} of {@link PriceStore}: they are built from {@link PriceAggregate} and
+ * {@link DailyRollup} on the first access or aside on refresh, and then only the entries of the changed symbol are
+ * recalculated and moved by binary search when the series of the symbol is changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class NormalizedRangeLeaderboard {
+
+    /**
+     * Descending by normalized range, symbol makes the order of entries with equal range stable.
+     */
+    private static final Comparator<NormalizedCrypto> RANKING_ORDER =
+      Comparator.comparing(NormalizedCrypto::index).reversed()
+        .thenComparing(normalizedCrypto -> normalizedCrypto.crypto().getName());
+    private static final int MAX_WINDOW_DAYS = 30;
+
+    private final PriceStore priceStore;
+
+    /**
+     * @return immutable {@link List} of {@link NormalizedCrypto} sorted descending by {@link NormalizedCrypto#index()}
+     * @throws UnableToFindFolderByPathException in case if there is no month folder
+     */
+    public List<NormalizedCrypto> getRanking(RankingWindow window) {
+        return priceStore.getLeaderboard().rankings().get(window);
+    }
+
+    /**
+     * Only the aggregate of the last month file and daily rollups of the last {@value MAX_WINDOW_DAYS} days of the
+     * symbol are read, rows of files are not scanned.
+     *
+     * @return entries of the <b>symbol</b> by window, empty if there are no records of the symbol in the month
+     */
+    private static Map<RankingWindow, NormalizedCrypto> calculateEntries(String symbol, Registry registry,
+                                                                         Function<String, PriceSeries> seriesOfFile) {
+        YearMonth lastPresentedMonth = registry.getLastPresentedMonth();
+        Optional<PriceAggregate> found = registry.getFileName(symbol, lastPresentedMonth)
+          .map(seriesOfFile)
+          .map(PriceSeries::getAggregate)
+          .filter(aggregate -> !aggregate.isEmpty());
+        if (found.isEmpty()) {
+            return Map.of();
+        }
+        PriceAggregate aggregate = found.get();
+        Map<RankingWindow, NormalizedCrypto> entries = new EnumMap<>(RankingWindow.class);
+        entries.put(RankingWindow.CURRENT_MONTH, NormalizedCrypto.of(aggregate.newest(),
+          aggregate.minPrice().getPrice(), aggregate.maxPrice().getPrice()));
+
+        LocalDate newestDay = LocalDate.ofInstant(
+          Instant.ofEpochMilli(aggregate.newest().getTimestampMilliseconds()), ZoneId.systemDefault());
+        NavigableMap<Long, DailyRollup> rollups = getDailyRollups(symbol, newestDay.minusDays(MAX_WINDOW_DAYS - 1L),
+          newestDay, registry, seriesOfFile);
+        for (RankingWindow window : RankingWindow.values()) {
+            if (window.isRolling()) {
+                rollups.tailMap(newestDay.minusDays(window.getDays() - 1L).toEpochDay(), true).values().stream()
+                  .reduce(DailyRollup::merge)
+                  .ifPresent(rollup -> entries.put(window, NormalizedCrypto.of(rollup.close(),
+                    rollup.low().getPrice(), rollup.high().getPrice())));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rows of the day can be stored in the files of the neighbour months in case if the time zone of the system differs
+     * from the time zone of the files, so rollups of the same day are merged.
+     */
+    private static NavigableMap<Long, DailyRollup> getDailyRollups(String symbol, LocalDate firstDay, LocalDate lastDay,
+                                                                   Registry registry,
+                                                                   Function<String, PriceSeries> seriesOfFile) {
+        NavigableMap<Long, DailyRollup> rollups = new TreeMap<>();
+        long firstEpochDay = firstDay.toEpochDay();
+        long lastEpochDay = lastDay.toEpochDay();
+        registry.getMonths(symbol)
+          .subSet(YearMonth.from(firstDay.minusDays(1)), true, registry.getLastPresentedMonth(), true)
+          .forEach(month -> registry.getFileName(symbol, month)
+            .map(seriesOfFile)
+            .ifPresent(series -> series.getDailyRollups().stream()
+              .filter(rollup -> rollup.epochDay() >= firstEpochDay && rollup.epochDay() <= lastEpochDay)
+              .forEach(rollup -> rollups.merge(rollup.epochDay(), rollup, DailyRollup::merge))));
+        return rollups;
+    }
+
+    /**
+     * Replace <b>previous</b> entry of the symbol by <b>actual</b> one, both are found by binary search, so the rest of
+     * the ranking is not sorted again.
+     */
+    private static List<NormalizedCrypto> move(List<NormalizedCrypto> ranking, NormalizedCrypto previous,
+                                               NormalizedCrypto actual) {
+        List<NormalizedCrypto> moved = new ArrayList<>(ranking);
+        if (previous != null) {
+            int index = Collections.binarySearch(moved, previous, RANKING_ORDER);
+            if (index >= 0) {
+                moved.remove(index);
+            }
+        }
+        if (actual != null) {
+            int index = Collections.binarySearch(moved, actual, RANKING_ORDER);
+            moved.add(index < 0 ? -index - 1 : index, actual);
+        }
+        return List.copyOf(moved);
+    }
+
+    /**
+     * Immutable state of the leaderboard, entries are kept by symbol to find them in rankings on update.
+     * Series are provided by path to the file, so the same calculation is used for the current {@link Dataset} and
+     * for the one that is built aside.
+     */
+    record Leaderboard(YearMonth month, Map<RankingWindow, List<NormalizedCrypto>> rankings,
+                       Map<String, Map<RankingWindow, NormalizedCrypto>> entries) {
+
+        /**
+         * @throws UnableToFindFolderByPathException in case if there is no month folder
+         */
+        static Leaderboard build(Registry registry, Function<String, PriceSeries> seriesOfFile) {
+            YearMonth lastPresentedMonth = registry.getLastPresentedMonth();
+            Map<String, Map<RankingWindow, NormalizedCrypto>> entries = new HashMap<>();
+            Map<RankingWindow, List<NormalizedCrypto>> rankings = new EnumMap<>(RankingWindow.class);
+            for (RankingWindow window : RankingWindow.values()) {
+                rankings.put(window, new ArrayList<>());
+            }
+            for (String symbol : registry.getFileNamesBySymbol(lastPresentedMonth).keySet()) {
+                Map<RankingWindow, NormalizedCrypto> symbolEntries = calculateEntries(symbol, registry, seriesOfFile);
+                if (!symbolEntries.isEmpty()) {
+                    entries.put(symbol, symbolEntries);
+                    symbolEntries.forEach((window, entry) -> rankings.get(window).add(entry));
+                }
+            }
+            rankings.replaceAll((window, ranking) -> {
+                ranking.sort(RANKING_ORDER);
+                return List.copyOf(ranking);
+            });
+            return new Leaderboard(lastPresentedMonth, Collections.unmodifiableMap(rankings), Map.copyOf(entries));
+        }
+
+        /**
+         * @return leaderboard with the recalculated entries of the <b>symbol</b>, null in case if the last presented
+         * month is changed, so the whole set of ranked Crypto has to be built again
+         */
+        Leaderboard update(String symbol, Registry registry, Function<String, PriceSeries> seriesOfFile) {
+            if (registry.fileNamesByMonth().isEmpty() || !month.equals(registry.getLastPresentedMonth())) {
+                return null;
+            }
+            Map<RankingWindow, NormalizedCrypto> previous = entries.getOrDefault(symbol, Map.of());
+            Map<RankingWindow, NormalizedCrypto> actual = calculateEntries(symbol, registry, seriesOfFile);
+
+            Map<RankingWindow, List<NormalizedCrypto>> movedRankings = new EnumMap<>(RankingWindow.class);
+            rankings.forEach((window, ranking) ->
+              movedRankings.put(window, move(ranking, previous.get(window), actual.get(window))));
+            Map<String, Map<RankingWindow, NormalizedCrypto>> actualEntries = new HashMap<>(entries);
+            if (actual.isEmpty()) {
+                actualEntries.remove(symbol);
+            } else {
+                actualEntries.put(symbol, actual);
+            }
+            return new Leaderboard(month, Collections.unmodifiableMap(movedRankings), Map.copyOf(actualEntries));
+        }
+    }
+
+}
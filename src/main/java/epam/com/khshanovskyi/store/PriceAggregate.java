@@ -0,0 +1,65 @@
+package epam.com.khshanovskyi.store;
+
+import java.util.Objects;
+
+import epam.com.khshanovskyi.dto.Crypto;
+
+/**
+ * Aggregates of one {@link PriceSeries} (one symbol for one month) built once at ingestion of the file: amount of rows,
+ * the oldest and the newest rows, rows with the lowest and the highest price (the first one in case of equal values).
+ * All rows are null in case if series is empty.
+ */
+public record PriceAggregate(SeriesKey key, int count, Crypto oldest, Crypto newest, Crypto minPrice,
+                             Crypto maxPrice) {
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return aggregates of rows in range [from, to) of the <b>series</b>
+     */
+    static PriceAggregate of(PriceSeries series, int from, int to) {
+        if (from >= to) {
+            return new PriceAggregate(series.getKey(), 0, null, null, null, null);
+        }
+        int newest = to - 1;
+        while (newest > from && series.getTimestamp(newest - 1) == series.getTimestamp(newest)) {
+            newest--;
+        }
+        int min = from;
+        int max = from;
+        for (int i = from + 1; i < to; i++) {
+            if (series.getPrice(i) < series.getPrice(min)) {
+                min = i;
+            }
+            if (series.getPrice(i) > series.getPrice(max)) {
+                max = i;
+            }
+        }
+        return new PriceAggregate(series.getKey(), to - from, series.toCrypto(from), series.toCrypto(newest),
+          series.toCrypto(min), series.toCrypto(max));
+    }
+
+    /**
+     * Merge aggregates of rows that were appended after rows of this aggregate, so the <b>appended</b> rows are not
+     * older than rows of this aggregate.
+     */
+    PriceAggregate merge(PriceAggregate appended) {
+        if (appended.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return appended;
+        }
+        Crypto mergedNewest =
+          Objects.equals(appended.newest.getTimestampMilliseconds(), newest.getTimestampMilliseconds()) ?
+            newest : appended.newest;
+        Crypto mergedMin =
+          appended.minPrice.getPrice().compareTo(minPrice.getPrice()) < 0 ? appended.minPrice : minPrice;
+        Crypto mergedMax =
+          appended.maxPrice.getPrice().compareTo(maxPrice.getPrice()) > 0 ? appended.maxPrice : maxPrice;
+        return new PriceAggregate(key, count + appended.count, oldest, mergedNewest, mergedMin, mergedMax);
+    }
+
+}
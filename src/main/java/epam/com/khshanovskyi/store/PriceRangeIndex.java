@@ -0,0 +1,87 @@
+package epam.com.khshanovskyi.store;
+
+/**
+ * Segment trees over fixed-point prices of {@link PriceSeries} with indexes of the lowest and the highest price, so
+ * extremes of any range of rows are found in O(log n) regardless of the length of the range.
+ * In case of equal prices the row with the lower index wins, so results are the same as for the linear scan.
+ */
+final class PriceRangeIndex {
+
+    private static final int NOT_FOUND = -1;
+
+    private final long[] prices;
+    private final int size;
+    private final int[] minTree;
+    private final int[] maxTree;
+
+    /**
+     * @param size amount of rows, <b>prices</b> can be longer
+     */
+    PriceRangeIndex(long[] prices, int size) {
+        this.prices = prices;
+        this.size = size;
+        this.minTree = new int[2 * size];
+        this.maxTree = new int[2 * size];
+        for (int i = 0; i < size; i++) {
+            minTree[size + i] = i;
+            maxTree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            minTree[node] = lower(minTree[2 * node], minTree[2 * node + 1]);
+            maxTree[node] = higher(maxTree[2 * node], maxTree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * @return index of the row with the lowest price in range [from, to), -1 if range is empty
+     */
+    int indexOfMin(int from, int to) {
+        int found = NOT_FOUND;
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                found = lower(found, minTree[left++]);
+            }
+            if ((right & 1) == 1) {
+                found = lower(found, minTree[--right]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return index of the row with the highest price in range [from, to), -1 if range is empty
+     */
+    int indexOfMax(int from, int to) {
+        int found = NOT_FOUND;
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                found = higher(found, maxTree[left++]);
+            }
+            if ((right & 1) == 1) {
+                found = higher(found, maxTree[--right]);
+            }
+        }
+        return found;
+    }
+
+    private int lower(int first, int second) {
+        if (first == NOT_FOUND || second == NOT_FOUND) {
+            return Math.max(first, second);
+        }
+        if (prices[first] != prices[second]) {
+            return prices[first] < prices[second] ? first : second;
+        }
+        return Math.min(first, second);
+    }
+
+    private int higher(int first, int second) {
+        if (first == NOT_FOUND || second == NOT_FOUND) {
+            return Math.max(first, second);
+        }
+        if (prices[first] != prices[second]) {
+            return prices[first] > prices[second] ? first : second;
+        }
+        return Math.min(first, second);
+    }
+
+}
@@ -0,0 +1,307 @@
+package epam.com.khshanovskyi.store;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import epam.com.khshanovskyi.dto.Candle;
+import epam.com.khshanovskyi.dto.Crypto;
+
+/**
+ * Columnar in-memory representation of one Crypto info file (one symbol for one month).
+ * Rows are kept in primitive arrays sorted by timestamp: epoch milliseconds and fixed-point prices with
+ * {@link #PRICE_SCALE} digits after the point. Original scale of each price is kept in one byte, so
+ * {@link #toPrice(int)} provides exactly the same {@link BigDecimal} as it was presented in the file for prices with
+ * up to {@link #PRICE_SCALE} digits after the point. Longer prices are rounded {@link RoundingMode#HALF_UP} to
+ * {@link #PRICE_SCALE} digits on parsing, so they are provided with {@link #PRICE_SCALE} digits.
+ * <br>
+ * Instances are immutable, so can be shared between threads without synchronization.
+ * {@link PriceAggregate}, {@link DailyRollup} for each day of the series and {@link CandlePyramid} are built once on
+ * creation, so queries of extremes, daily ranges and candles do not scan rows.
+ * <br>
+ * Series that continues another one (rows appended to the end of the file) aggregates only appended rows: the last
+ * rollup and the last candle of each resolution of the continued series are extended, others are reused. Arrays of
+ * such series can have more capacity than {@link #size()}, so the next append writes its rows into the same arrays
+ * instead of copying all rows (see {@link #claimCapacity()}).
+ */
+public final class PriceSeries {
+
+    public static final int PRICE_SCALE = 8;
+    private static final int NOT_FOUND = -1;
+    private static final AtomicLong LINEAGES = new AtomicLong();
+
+    private final SeriesKey key;
+    private final String fileName;
+    private final long lineage;
+    private final long[] timestamps;
+    private final long[] prices;
+    private final byte[] scales;
+    private final int size;
+    private final AtomicBoolean capacityClaimed = new AtomicBoolean();
+    private final PriceAggregate aggregate;
+    private final long[] rollupEpochDays;
+    private final DailyRollup[] rollups;
+    private final CandlePyramid candles;
+    private volatile PriceRangeIndex rangeIndex;
+
+    PriceSeries(SeriesKey key, String fileName, long[] timestamps, long[] prices, byte[] scales) {
+        this(key, fileName, timestamps, prices, scales, timestamps.length, null);
+    }
+
+    /**
+     * @param size      amount of rows, arrays can be longer
+     * @param continued already built series which rows are the first rows of this series, so only the rest rows are
+     *                  aggregated, all rows are aggregated in case if null
+     */
+    PriceSeries(SeriesKey key, String fileName, long[] timestamps, long[] prices, byte[] scales, int size,
+                PriceSeries continued) {
+        this.key = key;
+        this.fileName = fileName;
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.scales = scales;
+        this.size = size;
+        this.lineage = continued == null ? LINEAGES.incrementAndGet() : continued.lineage;
+        this.aggregate = continued == null ?
+          PriceAggregate.of(this, 0, size) :
+          continued.aggregate.merge(PriceAggregate.of(this, continued.size(), size));
+        this.rollups = continued == null ?
+          buildDailyRollups(0).toArray(DailyRollup[]::new) :
+          extendDailyRollups(continued.rollups, buildDailyRollups(continued.size()));
+        this.rollupEpochDays = Arrays.stream(rollups).mapToLong(DailyRollup::epochDay).toArray();
+        this.candles = CandlePyramid.of(this, continued == null ? null : continued.candles);
+    }
+
+    public SeriesKey getKey() {
+        return key;
+    }
+
+    public String getSymbol() {
+        return key.symbol();
+    }
+
+    public YearMonth getMonth() {
+        return key.month();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Series that continues another one (rows appended to the end of the file) keeps its lineage, so the series with
+     * the same lineage and not less size contains all rows of this series as its first rows.
+     */
+    public boolean isContinuationOf(PriceSeries series) {
+        return lineage == series.lineage && size() >= series.size();
+    }
+
+    public PriceAggregate getAggregate() {
+        return aggregate;
+    }
+
+    /**
+     * @param epochDay day in the system time zone as {@link LocalDate#toEpochDay()}
+     * @return {@link Optional} with {@link DailyRollup} of the day, empty if series has no rows for the day
+     */
+    public Optional<DailyRollup> getDailyRollup(long epochDay) {
+        int index = Arrays.binarySearch(rollupEpochDays, epochDay);
+        return index < 0 ? Optional.empty() : Optional.of(rollups[index]);
+    }
+
+    /**
+     * @return {@link List} of {@link DailyRollup} in ascending order by day
+     */
+    public List<DailyRollup> getDailyRollups() {
+        return List.of(rollups);
+    }
+
+    /**
+     * @return {@link List} of {@link Candle} of periods that overlap range [from, to] in ascending order by time
+     */
+    public List<Candle> getCandles(CandleResolution resolution, long from, long to) {
+        return candles.getCandles(resolution, from, to);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @return fixed-point price with {@link #PRICE_SCALE} digits after the point, rounded
+     * {@link RoundingMode#HALF_UP} in case if the price in the file has more digits
+     */
+    public long getPrice(int index) {
+        return prices[index];
+    }
+
+    /**
+     * @return amount of digits after the point of the price as it was presented in the source file
+     */
+    int getScale(int index) {
+        return scales[index];
+    }
+
+    /**
+     * Rows after {@link #size()} are never read by this series, so the only one series that continues it can write its
+     * rows into the same arrays. Other continuations have to copy rows, for example in case if the file is ingested
+     * concurrently and only one of the results is published.
+     *
+     * @return true in case if the caller is the first one who continues this series in the same arrays
+     */
+    boolean claimCapacity() {
+        return capacityClaimed.compareAndSet(false, true);
+    }
+
+    long[] getTimestampColumn() {
+        return timestamps;
+    }
+
+    long[] getPriceColumn() {
+        return prices;
+    }
+
+    byte[] getScaleColumn() {
+        return scales;
+    }
+
+    public BigDecimal toPrice(int index) {
+        return BigDecimal.valueOf(prices[index], PRICE_SCALE).setScale(scales[index], RoundingMode.UNNECESSARY);
+    }
+
+    public Crypto toCrypto(int index) {
+        return Crypto.of(key.symbol(), toPrice(index), timestamps[index], ZoneId.systemDefault());
+    }
+
+    /**
+     * @return {@link Stream} of {@link Crypto} for rows in range [from, to) in ascending order by timestamp
+     */
+    public Stream<Crypto> toCryptos(int from, int to) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        return IntStream.range(from, to)
+          .mapToObj(index -> Crypto.of(key.symbol(), toPrice(index), timestamps[index], zoneId));
+    }
+
+    public Stream<Crypto> toCryptos() {
+        return toCryptos(0, size());
+    }
+
+    /**
+     * @return index of the first row with timestamp that is not less than <b>timestamp</b>, {@link #size()} if there
+     * is no such row
+     */
+    public int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return rollups of rows starting from the row <b>from</b>, the first one can contain only a part of the rows of
+     * the day
+     */
+    private List<DailyRollup> buildDailyRollups(int from) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        List<DailyRollup> built = new ArrayList<>();
+        while (from < size) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(timestamps[from]), zoneId);
+            int to = lowerBound(day.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli());
+            int high = from;
+            int low = from;
+            for (int i = from + 1; i < to; i++) {
+                high = prices[i] > prices[high] ? i : high;
+                low = prices[i] < prices[low] ? i : low;
+            }
+            built.add(new DailyRollup(key.symbol(), day.toEpochDay(), toCrypto(from), toCrypto(high), toCrypto(low),
+              toCrypto(to - 1), to - from));
+            from = to;
+        }
+        return built;
+    }
+
+    /**
+     * @param appended rollups of the appended rows, the first of them continues the last rollup in case if it is of
+     *                 the same day
+     */
+    private static DailyRollup[] extendDailyRollups(DailyRollup[] continued, List<DailyRollup> appended) {
+        DailyRollup[] extended = Arrays.copyOf(continued, continued.length + appended.size());
+        int size = continued.length;
+        for (DailyRollup rollup : appended) {
+            if (size > 0 && size == continued.length && extended[size - 1].epochDay() == rollup.epochDay()) {
+                extended[size - 1] = extended[size - 1].append(rollup);
+            } else {
+                extended[size++] = rollup;
+            }
+        }
+        return size == extended.length ? extended : Arrays.copyOf(extended, size);
+    }
+
+    /**
+     * Extremes of the range are found by {@link PriceRangeIndex} that is built on the first range query.
+     *
+     * @return index of the first row with the lowest price in range [from, to), -1 if range is empty
+     */
+    public int indexOfMinPrice(int from, int to) {
+        return getRangeIndex().indexOfMin(from, to);
+    }
+
+    /**
+     * @return index of the first row with the highest price in range [from, to), -1 if range is empty
+     */
+    public int indexOfMaxPrice(int from, int to) {
+        return getRangeIndex().indexOfMax(from, to);
+    }
+
+    private PriceRangeIndex getRangeIndex() {
+        PriceRangeIndex index = rangeIndex;
+        if (index == null) {
+            // series is immutable, so index built concurrently by several threads is the same
+            index = new PriceRangeIndex(prices, size);
+            rangeIndex = index;
+        }
+        return index;
+    }
+
+    public int indexOfOldest() {
+        return isEmpty() ? NOT_FOUND : 0;
+    }
+
+    /**
+     * @return index of the first row with the latest timestamp, -1 if series is empty
+     */
+    public int indexOfNewest() {
+        int index = size - 1;
+        while (index > 0 && timestamps[index - 1] == timestamps[index]) {
+            index--;
+        }
+        return index;
+    }
+
+}
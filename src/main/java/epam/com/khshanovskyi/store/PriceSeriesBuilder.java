@@ -0,0 +1,165 @@
+package epam.com.khshanovskyi.store;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import epam.com.khshanovskyi.exception.UnableToParseFileException;
+import epam.com.khshanovskyi.parser.CryptoRowConsumer;
+
+/**
+ * Collects parsed rows into growing primitive arrays and builds immutable {@link PriceSeries} from them.
+ * Rows are sorted by timestamp on {@link #build()} only if they were not received in that order.
+ * Builder that continues already built series aggregates only appended rows in case if they keep the order, and
+ * writes them into the arrays of the continued series in case if it is the first continuation of it, so an append
+ * copies rows only when the capacity of the arrays is exhausted (capacity is doubled, so the copying is amortized).
+ * Arrays of the series that is not a continuation are trimmed on {@link #build()}, since most files are not changed.
+ */
+final class PriceSeriesBuilder implements CryptoRowConsumer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long[] POWERS_OF_TEN = new long[PriceSeries.PRICE_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final SeriesKey key;
+    private final String fileName;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private byte[] scales = new byte[INITIAL_CAPACITY];
+    private int size;
+    private boolean sorted = true;
+    private PriceSeries continued;
+
+    PriceSeriesBuilder(SeriesKey key, String fileName) {
+        this.key = key;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Builder that continues already built <b>series</b>, used for rows appended to the end of the file.
+     */
+    PriceSeriesBuilder(PriceSeries series) {
+        this(series.getKey(), series.getFileName());
+        size = series.size();
+        continued = series;
+        if (series.claimCapacity()) {
+            timestamps = series.getTimestampColumn();
+            prices = series.getPriceColumn();
+            scales = series.getScaleColumn();
+        } else {
+            int capacity = Math.max(size * 2, INITIAL_CAPACITY);
+            timestamps = Arrays.copyOf(series.getTimestampColumn(), capacity);
+            prices = Arrays.copyOf(series.getPriceColumn(), capacity);
+            scales = Arrays.copyOf(series.getScaleColumn(), capacity);
+        }
+    }
+
+    @Override
+    public void accept(long timestampMilliseconds, String name, long unscaledPrice, int scale) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        if (size > 0 && timestamps[size - 1] > timestampMilliseconds) {
+            sorted = false;
+        }
+        timestamps[size] = timestampMilliseconds;
+        prices[size] = toFixedPoint(unscaledPrice, scale);
+        scales[size] = (byte) Math.min(scale, PriceSeries.PRICE_SCALE);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    PriceSeries build() {
+        if (sorted && continued != null) {
+            // appended rows that keep the order are placed after the rows of the continued series
+            return new PriceSeries(key, fileName, timestamps, prices, scales, size, continued);
+        }
+        long[] builtTimestamps = Arrays.copyOf(timestamps, size);
+        long[] builtPrices = Arrays.copyOf(prices, size);
+        byte[] builtScales = Arrays.copyOf(scales, size);
+
+        if (!sorted) {
+            int indexBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(size - 1));
+            long[] orderKeys = getOrderKeys(indexBits);
+            Arrays.sort(orderKeys);
+            long indexMask = (1L << indexBits) - 1;
+            for (int i = 0; i < size; i++) {
+                int index = (int) (orderKeys[i] & indexMask);
+                builtTimestamps[i] = timestamps[index];
+                builtPrices[i] = prices[index];
+                builtScales[i] = scales[index];
+            }
+        }
+
+        return new PriceSeries(key, fileName, builtTimestamps, builtPrices, builtScales);
+    }
+
+    /**
+     * Each key keeps the position of the timestamp of the row in high bits and the index of the row in the low
+     * <b>indexBits</b>, so sorting of the keys orders rows by timestamp and keeps the order of rows with the same
+     * timestamp. Position is the distance from the minimal timestamp, or the rank of the timestamp in case if the
+     * timestamps are too far apart to be packed along with the indices.
+     */
+    private long[] getOrderKeys(int indexBits) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, timestamps[i]);
+            max = Math.max(max, timestamps[i]);
+        }
+        long distance = max - min;
+        long[] sortedTimestamps = distance >= 0 && distance >>> (Long.SIZE - 1 - indexBits) == 0 ?
+          null :
+          Arrays.copyOf(timestamps, size);
+        if (sortedTimestamps != null) {
+            Arrays.sort(sortedTimestamps);
+        }
+
+        long[] orderKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long position = sortedTimestamps == null ?
+              timestamps[i] - min :
+              Arrays.binarySearch(sortedTimestamps, timestamps[i]);
+            orderKeys[i] = position << indexBits | i;
+        }
+        return orderKeys;
+    }
+
+    private void grow() {
+        int capacity = Math.max(timestamps.length * 2, INITIAL_CAPACITY);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        scales = Arrays.copyOf(scales, capacity);
+    }
+
+    /**
+     * Prices with more than {@link PriceSeries#PRICE_SCALE} digits after the point are rounded
+     * {@link RoundingMode#HALF_UP}, their scale is kept as {@link PriceSeries#PRICE_SCALE}.
+     */
+    private long toFixedPoint(long unscaledPrice, int scale) {
+        try {
+            if (scale <= PriceSeries.PRICE_SCALE) {
+                return Math.multiplyExact(unscaledPrice, POWERS_OF_TEN[PriceSeries.PRICE_SCALE - scale]);
+            }
+            return BigDecimal.valueOf(unscaledPrice, scale)
+              .setScale(PriceSeries.PRICE_SCALE, RoundingMode.HALF_UP)
+              .unscaledValue()
+              .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new UnableToParseFileException(String.format(
+              "Price [%s] from the file [%s] is out of supported range", BigDecimal.valueOf(unscaledPrice, scale),
+              fileName), e);
+        }
+    }
+
+}
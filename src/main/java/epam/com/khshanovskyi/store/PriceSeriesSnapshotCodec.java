@@ -0,0 +1,186 @@
+package epam.com.khshanovskyi.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary columnar format of the snapshot with all {@link PriceSeries} of one month folder.
+ * <pre>
+ * int magic, short version, int amount of sections
+ * each section:
+ *   UTF name of the source file, long size of the source file, long last modified time of the source file
+ *   UTF symbol, int amount of rows
+ *   long first timestamp, long last timestamp, long min price, long max price (only if amount of rows > 0)
+ *   timestamps: first one and then deltas between neighbours as unsigned var-longs (rows are sorted by time)
+ *   prices: deltas between neighbours as zig-zag var-longs of fixed-point values
+ *   scales: one byte per row
+ * </pre>
+ */
+final class PriceSeriesSnapshotCodec {
+
+    private static final int MAGIC = 0x43525353;
+    private static final short VERSION = 1;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private PriceSeriesSnapshotCodec() {
+    }
+
+    /**
+     * One section of the snapshot, {@link #series} is valid only while source file has the same size and last
+     * modified time.
+     */
+    record Section(String sourceFileName, long sourceSize, long sourceLastModified, PriceSeries series) {
+
+        boolean isActualFor(long size, long lastModified) {
+            return sourceSize == size && sourceLastModified == lastModified;
+        }
+    }
+
+    /**
+     * Writes sections into temporary file and then atomically replaces the <b>snapshot</b> with it.
+     */
+    static void write(Path snapshot, List<Section> sections) throws IOException {
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(sections.size());
+            for (Section section : sections) {
+                writeSection(output, section);
+            }
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param snapshot   path to the snapshot
+     * @param folderPath path to the folder with source files, used for the restoring of the file names
+     * @param month      month of the folder
+     * @return {@link Map} with sections by the name of the source file
+     * @throws IOException in case if snapshot cannot be read or has unknown format
+     */
+    static Map<String, Section> read(Path snapshot, String folderPath, YearMonth month) throws IOException {
+        try (DataInputStream input = new DataInputStream(
+          new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException(String.format("Snapshot [%s] has unknown format", snapshot));
+            }
+            int amountOfSections = input.readInt();
+            Map<String, Section> sections = new HashMap<>(amountOfSections * 2);
+            for (int i = 0; i < amountOfSections; i++) {
+                Section section = readSection(input, folderPath, month);
+                sections.put(section.sourceFileName(), section);
+            }
+            return sections;
+        }
+    }
+
+    private static void writeSection(DataOutput output, Section section) throws IOException {
+        PriceSeries series = section.series();
+        int size = series.size();
+
+        output.writeUTF(section.sourceFileName());
+        output.writeLong(section.sourceSize());
+        output.writeLong(section.sourceLastModified());
+        output.writeUTF(series.getSymbol());
+        output.writeInt(size);
+        if (size == 0) {
+            return;
+        }
+
+        output.writeLong(series.getTimestamp(series.indexOfOldest()));
+        output.writeLong(series.getTimestamp(series.indexOfNewest()));
+        // extremes are taken from the aggregate built on ingestion, so prices are not scanned again
+        output.writeLong(toFixedPoint(series.getAggregate().minPrice().getPrice()));
+        output.writeLong(toFixedPoint(series.getAggregate().maxPrice().getPrice()));
+
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarLong(output, series.getTimestamp(i) - previous);
+            previous = series.getTimestamp(i);
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = series.getPrice(i) - previous;
+            writeVarLong(output, (delta << 1) ^ (delta >> 63));
+            previous = series.getPrice(i);
+        }
+        for (int i = 0; i < size; i++) {
+            output.writeByte(series.getScale(i));
+        }
+    }
+
+    private static long toFixedPoint(BigDecimal price) {
+        return price.movePointRight(PriceSeries.PRICE_SCALE).longValueExact();
+    }
+
+    private static Section readSection(DataInput input, String folderPath, YearMonth month) throws IOException {
+        String sourceFileName = input.readUTF();
+        long sourceSize = input.readLong();
+        long sourceLastModified = input.readLong();
+        String symbol = input.readUTF().intern();
+        int size = input.readInt();
+
+        long[] timestamps = new long[size];
+        long[] prices = new long[size];
+        byte[] scales = new byte[size];
+        if (size > 0) {
+            // first, last, min and max are needed only for the readers that skip columns
+            for (int i = 0; i < 4; i++) {
+                input.readLong();
+            }
+
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += readVarLong(input);
+                timestamps[i] = previous;
+            }
+            previous = 0;
+            for (int i = 0; i < size; i++) {
+                long zigZag = readVarLong(input);
+                previous += (zigZag >>> 1) ^ -(zigZag & 1);
+                prices[i] = previous;
+            }
+            input.readFully(scales);
+        }
+
+        String fileName = Path.of(folderPath, sourceFileName).toString();
+        PriceSeries series = new PriceSeries(new SeriesKey(symbol, month), fileName, timestamps, prices, scales);
+        return new Section(sourceFileName, sourceSize, sourceLastModified, series);
+    }
+
+    private static void writeVarLong(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var-long in the snapshot");
+    }
+
+}
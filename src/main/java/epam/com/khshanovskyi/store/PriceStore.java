@@ -0,0 +1,624 @@
+package epam.com.khshanovskyi.store;
+
+import static epam.com.khshanovskyi.util.FilesUtil.getCryptoNameFromFileName;
+import static epam.com.khshanovskyi.util.FilesUtil.getMonthFromFilePath;
+import static epam.com.khshanovskyi.util.FilesUtil.getMonthFromFolderPath;
+import static epam.com.khshanovskyi.util.FilesUtil.isCompressedFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import epam.com.khshanovskyi.exception.UnableToFindFileByPathException;
+import epam.com.khshanovskyi.exception.UnableToFindFolderByPathException;
+import epam.com.khshanovskyi.parser.CryptoParser;
+import epam.com.khshanovskyi.store.NormalizedRangeLeaderboard.Leaderboard;
+import epam.com.khshanovskyi.store.PriceSeriesSnapshotCodec.Section;
+import epam.com.khshanovskyi.store.SymbolRegistry.Registry;
+import epam.com.khshanovskyi.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory columnar store of parsed Crypto info files, one {@link PriceSeries} per (symbol, month).
+ * Files are parsed into primitive columns directly via {@link CryptoParser#parseFromFile(String, long,
+ * epam.com.khshanovskyi.parser.CryptoRowConsumer)} on the first access. Series are shared by all queries and kept
+ * while the {@link FileVersion} of the file is the same: on each access only size and last modified time of the file
+ * are read, so the file is parsed at most once per version, and eviction of query caches does not parse files again.
+ * <br>
+ * In case if <b>snapshotEnabled</b>, the whole month folder is loaded at once and binary snapshot of it is written
+ * into <b>snapshotFolder</b> (crypto/2022-01 -> [snapshotFolder]/[hash of the path]-2022-01.snapshot), so the folder
+ * with Crypto info files is never written. Next loads of the folder take series from the snapshot, only files which
+ * size or last modified time differ from the ones saved in the snapshot are parsed again.
+ * <br>
+ * For each loaded file its {@link FileIngestState} is kept, so {@link #reload(String)} of the appended file parses
+ * only the rows after the last parsed byte and merges them into the series.
+ * <br>
+ * All data of the store (registry of files of {@link SymbolRegistry}, series and rankings of
+ * {@link NormalizedRangeLeaderboard}) is one immutable {@link Dataset}. Changes of data ({@link #refresh(Runnable)},
+ * {@link #reload(String)}, {@link #remove(String)} and changed files found on access) are serialized: the changed
+ * dataset is built aside along with the new {@link DatasetVersions} and published by one set of the reference, so
+ * readers never see the registry, series and rankings of different versions. Files are always parsed outside of the
+ * lock, the changed dataset is published only in case if the data it is based on is still the current one, otherwise
+ * it is built again against the newer data.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceStore {
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    @Value("${path.to.folder.with.crypto.files}")
+    private String pathToFolder;
+    @Value("${snapshot.enabled}")
+    private boolean snapshotEnabled;
+    @Value("${snapshot.folder}")
+    private String snapshotFolder;
+    private final CryptoParser cryptoParser;
+    private final AtomicReference<Dataset> dataset = new AtomicReference<>(Dataset.empty());
+    private final ThreadLocal<AtomicReference<Dataset>> stagedDataset = new ThreadLocal<>();
+    private final ConcurrentMap<String, Boolean> loadedFolders = new ConcurrentHashMap<>();
+    private final SingleFlight<SeriesKey, PriceSeries> seriesLoads = new SingleFlight<>();
+    private final SingleFlight<String, Boolean> folderLoads = new SingleFlight<>();
+
+    /**
+     * Provide {@link PriceSeries} of the file, file is parsed only in case if it was not loaded before or its
+     * {@link FileVersion} is changed since the last ingestion (see {@link #reload(String)}).
+     *
+     * @param fileName path to the file with Crypto info, folder of the file has to be named in 'yyyy-MM' format
+     * @return {@link PriceSeries}
+     * @throws UnableToFindFileByPathException   in case if file is not present
+     * @throws UnableToFindFolderByPathException in case if folder of the file is not named as month
+     */
+    public PriceSeries getSeries(String fileName) {
+        SeriesKey key = toKey(fileName);
+        if (snapshotEnabled) {
+            loadFolder(new File(fileName).getParent());
+        }
+        IngestedSeries current = data().get().series().get(key);
+        if (current != null && current.isActualFor(FileVersion.of(fileName))) {
+            return current.series();
+        }
+        // concurrent callers wait for the one load of the file, version is checked again by the load
+        return seriesLoads.execute(key, () -> ingest(key, fileName, false));
+    }
+
+    /**
+     * @return {@link SingleFlight} of loads of files on access, it counts callers that waited for the load of the same
+     * file by the other caller
+     */
+    public SingleFlight<SeriesKey, PriceSeries> getSeriesLoads() {
+        return seriesLoads;
+    }
+
+    /**
+     * @return {@link DatasetVersions} of the current data in the store
+     */
+    public DatasetVersions getVersions() {
+        return data().get().versions();
+    }
+
+    /**
+     * @return number of the version of the whole dataset, results cached with it are never provided for other data
+     */
+    public long getVersion() {
+        return getVersions().get().number();
+    }
+
+    /**
+     * @param symbol symbol of Crypto in any case, null for the version of the structure
+     * @return number of the version of the <b>symbol</b> (see {@link DatasetVersions#get(String)}), results of the
+     * symbol cached with it are never provided for other data
+     */
+    public long getVersion(String symbol) {
+        return getVersions().get(symbol).number();
+    }
+
+    /**
+     * Ingest loaded files which {@link FileVersion} is changed since the last ingestion and remove series of deleted
+     * files, so versions are actual even if changes of files are not watched. Only size and last modified time of each
+     * file are read. Files which are not loaded yet are found by {@link #refresh(Runnable)}.
+     */
+    public void revalidate() {
+        data().get().series().values().forEach(ingested -> {
+            String fileName = ingested.series().getFileName();
+            if (ingested.isActualFor(FileVersion.of(fileName))) {
+                return;
+            }
+            try {
+                if (new File(fileName).exists()) {
+                    getSeries(fileName);
+                } else {
+                    remove(fileName);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unable to revalidate file [{}], previous series is kept", fileName, e);
+            }
+        });
+    }
+
+    /**
+     * Provide {@link PriceSeries} for each file from the folder, one file per symbol is taken (see
+     * {@link Registry#scanFolder(String)}).
+     *
+     * @param folderPath path to folder that contains Crypto info files
+     * @return {@link List<PriceSeries>}
+     * @throws UnableToFindFolderByPathException in case if folder is not present
+     */
+    public List<PriceSeries> getSeriesFromFolder(String folderPath) {
+        Collection<String> fileNames = Registry.scanFolder(folderPath).values();
+        if (snapshotEnabled) {
+            loadFolder(folderPath);
+        }
+        return fileNames.stream()
+          .map(this::getSeries)
+          .toList();
+    }
+
+    /**
+     * Ingest changes of the file into the store. In case if rows were only appended to the file since the last
+     * ingestion, only them are parsed and merged into the {@link PriceSeries}, otherwise (file is truncated, rewritten
+     * or was not loaded before) the file is parsed again and its series is replaced. Registry and rankings are changed
+     * along with the series. In case if the folder contains other file of the same symbol which has precedence (see
+     * {@link Registry#scanFolder(String)}), that file is ingested instead.
+     *
+     * @param fileName path to the file with Crypto info
+     * @return key of the replaced series
+     * @throws UnableToFindFileByPathException in case if file is not present
+     */
+    public SeriesKey reload(String fileName) {
+        SeriesKey key = toKey(fileName);
+        ingest(key, Objects.requireNonNullElse(getPrecedentFileName(key, fileName), fileName), true);
+        return key;
+    }
+
+    /**
+     * Remove {@link PriceSeries} of the deleted file from the store along with the file in registry and entries of
+     * rankings. In case if the folder still contains other file of the same symbol, that file is ingested instead.
+     *
+     * @param fileName path to the file with Crypto info
+     * @return key of the removed series
+     */
+    public SeriesKey remove(String fileName) {
+        SeriesKey key = toKey(fileName);
+        String remaining = getPrecedentFileName(key, fileName);
+        if (remaining != null && !remaining.equals(fileName)) {
+            ingest(key, remaining, true);
+            log.debug("File [{}] is deleted, series [{}] is ingested from [{}]", fileName, key, remaining);
+            return key;
+        }
+        removeSeries(key);
+        log.debug("Series [{}] is removed from price store", key);
+        return key;
+    }
+
+    private synchronized void removeSeries(SeriesKey key) {
+        publish(key, null, data().get().series().get(key), null, true);
+    }
+
+    /**
+     * @return file of the symbol of the <b>key</b> which has precedence in the folder of the <b>fileName</b>, null in
+     * case if the folder is deleted or does not contain files of the symbol
+     */
+    private String getPrecedentFileName(SeriesKey key, String fileName) {
+        File folder = new File(fileName).getParentFile();
+        return folder == null || !folder.isDirectory() ?
+          null :
+          Registry.scanFolder(folder.getPath()).get(key.symbol());
+    }
+
+    /**
+     * Build the whole dataset aside and publish it: registry is read from the folder again, series of missing files
+     * are removed, changed files are ingested again and rankings are built again. Files are parsed without the lock,
+     * so readers and changes of single files are never blocked by the refresh. Before the new dataset is published,
+     * <b>warmUp</b> is run in the calling thread against it, so results of the new versions are computed ahead while
+     * readers use the previous dataset. In case if data is changed while the dataset is built, it is built again
+     * against the changed data, series parsed by the previous attempt are reused. In case if the folder cannot be
+     * read, registry and rankings are reset and will be built on the next access.
+     *
+     * @param warmUp computation of results of the refreshed dataset before it is published
+     */
+    public void refresh(Runnable warmUp) {
+        long start = System.currentTimeMillis();
+        Map<SeriesKey, IngestedSeries> previousBase = Map.of();
+        Map<SeriesKey, IngestedSeries> previousBuilt = Map.of();
+        while (true) {
+            Dataset current = dataset.get();
+            Map<SeriesKey, IngestedSeries> series = new HashMap<>(current.series());
+            Map<SeriesKey, IngestedSeries> base = previousBase;
+            previousBuilt.forEach((key, ingested) -> {
+                if (base.get(key) == current.series().get(key)) {
+                    series.put(key, ingested);
+                }
+            });
+            Dataset refreshed = build(current, series);
+            AtomicReference<Dataset> staged = new AtomicReference<>(refreshed);
+            stagedDataset.set(staged);
+            try {
+                warmUp.run();
+            } catch (RuntimeException e) {
+                log.warn("Unable to warm up refreshed price store, results will be computed on demand", e);
+            } finally {
+                stagedDataset.remove();
+            }
+
+            if (publishRefreshed(current.versions(), staged.get())) {
+                log.debug("Price store is refreshed in [{}] ms, version [{}] is published",
+                  System.currentTimeMillis() - start, refreshed.versions().get().number());
+                return;
+            }
+            log.debug("Data of price store is changed while it was refreshed, it is refreshed again");
+            previousBase = current.series();
+            previousBuilt = series;
+        }
+    }
+
+    private Dataset build(Dataset current, Map<SeriesKey, IngestedSeries> series) {
+        series.values().removeIf(ingested -> !new File(ingested.series().getFileName()).exists());
+        Registry registry = null;
+        Leaderboard leaderboard = null;
+        try {
+            registry = Registry.scan(pathToFolder);
+            loadFiles(registry, series);
+            leaderboard = Leaderboard.build(registry, getLoaded(series));
+        } catch (RuntimeException e) {
+            log.warn("Unable to build registry and rankings, they will be built on the next access", e);
+        }
+
+        Set<SeriesKey> changedSeries = new HashSet<>();
+        current.series().forEach((key, ingested) -> {
+            IngestedSeries actual = series.get(key);
+            if (actual == null || actual.series() != ingested.series()) {
+                changedSeries.add(key);
+            }
+        });
+        boolean structural = !current.series().keySet().equals(series.keySet()) ||
+          current.registry() != null && !current.registry().equals(registry);
+        series.keySet().stream()
+          .filter(key -> !current.series().containsKey(key))
+          .forEach(changedSeries::add);
+        return new Dataset(current.versions().change(changedSeries, structural), registry, Map.copyOf(series),
+          leaderboard);
+    }
+
+    /**
+     * Series loaded on access do not change versions, so they do not prevent the publishing, they are loaded again by
+     * the refreshed dataset.
+     *
+     * @return false in case if data is changed since the <b>expected</b> versions
+     */
+    private synchronized boolean publishRefreshed(DatasetVersions expected, Dataset refreshed) {
+        if (dataset.get().versions() != expected) {
+            return false;
+        }
+        dataset.set(refreshed);
+        return true;
+    }
+
+    /**
+     * Folder is not read, so files of the deleted folder are provided as well.
+     *
+     * @return paths to the files of the <b>folder</b> known by the registry or loaded into the store
+     */
+    Set<String> getKnownFileNames(Path folder) {
+        Path normalizedFolder = folder.toAbsolutePath().normalize();
+        Dataset current = data().get();
+        Set<String> fileNames = new HashSet<>();
+        if (current.registry() != null) {
+            current.registry().fileNamesByMonth().values().forEach(fileNamesBySymbol ->
+              fileNamesOfFolder(fileNamesBySymbol.values().stream(), normalizedFolder).forEach(fileNames::add));
+        }
+        fileNamesOfFolder(current.series().values().stream().map(ingested -> ingested.series().getFileName()),
+          normalizedFolder).forEach(fileNames::add);
+        return fileNames;
+    }
+
+    private static Stream<String> fileNamesOfFolder(Stream<String> fileNames, Path folder) {
+        return fileNames.filter(fileName -> folder.equals(Path.of(fileName).toAbsolutePath().normalize().getParent()));
+    }
+
+    /**
+     * @return registry of the current {@link Dataset}, it is read from the folder on the first access
+     * @throws UnableToFindFolderByPathException in case if folder is not present
+     */
+    Registry getRegistry() {
+        Registry registry = data().get().registry();
+        if (registry != null) {
+            return registry;
+        }
+        Registry scanned = Registry.scan(pathToFolder);
+        log.debug("Symbol registry is built for [{}] months and [{}] symbols", scanned.fileNamesByMonth().size(),
+          scanned.monthsBySymbol().size());
+        return data().updateAndGet(current -> current.registry() == null ? current.withRegistry(scanned) : current)
+          .registry();
+    }
+
+    /**
+     * @return rankings of the current {@link Dataset}, they are built on the first access and kept only in case if
+     * data was not changed while they were built
+     * @throws UnableToFindFolderByPathException in case if there is no month folder
+     */
+    Leaderboard getLeaderboard() {
+        Leaderboard leaderboard = data().get().leaderboard();
+        if (leaderboard != null) {
+            return leaderboard;
+        }
+        Registry registry = getRegistry();
+        DatasetVersions versions = getVersions();
+        Leaderboard built = Leaderboard.build(registry, this::getSeries);
+        log.debug("Normalized range leaderboard is built for [{}] symbols of [{}]", built.entries().size(),
+          built.month());
+        data().updateAndGet(current ->
+          current.leaderboard() == null && current.registry() == registry && current.versions() == versions ?
+            current.withLeaderboard(built) :
+            current);
+        return built;
+    }
+
+    private void loadFolder(String folderPath) {
+        String path = new File(folderPath).getPath();
+        if (loadedFolders.containsKey(path)) {
+            return;
+        }
+        folderLoads.execute(path, () -> {
+            if (!loadedFolders.containsKey(path)) {
+                Map<SeriesKey, IngestedSeries> loaded = loadFolderViaSnapshot(path);
+                data().updateAndGet(current -> current.withAbsentSeries(loaded));
+                loadedFolders.put(path, Boolean.TRUE);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private Map<SeriesKey, IngestedSeries> loadFolderViaSnapshot(String folderPath) {
+        File folder = new File(folderPath);
+        YearMonth month = getMonthFromFolderPath(folderPath);
+        Path snapshot = getSnapshotPath(folder);
+        Map<String, Section> snapshotSections = readSnapshot(snapshot, folderPath, month);
+
+        Map<SeriesKey, IngestedSeries> loaded = new HashMap<>();
+        List<Section> sections = new ArrayList<>();
+        boolean snapshotIsStale = false;
+        for (String fileName : Registry.scanFolder(folderPath).values()) {
+            String name = new File(fileName).getName();
+            FileVersion version = FileVersion.of(fileName);
+            Section section = snapshotSections.remove(name);
+            IngestedSeries ingested;
+
+            if (section != null && section.isActualFor(version.length(), version.lastModified())) {
+                ingested = new IngestedSeries(section.series(), createState(section.series(), version,
+                  version.length()));
+            } else {
+                ingested = appendOrParse(new SeriesKey(getCryptoNameFromFileName(fileName), month), fileName, null);
+                section = toSection(name, ingested);
+                snapshotIsStale = true;
+            }
+            if (section != null) {
+                sections.add(section);
+            }
+            loaded.put(ingested.series().getKey(), ingested);
+        }
+
+        if (snapshotIsStale || !snapshotSections.isEmpty()) {
+            writeSnapshot(snapshot, sections);
+        }
+        return loaded;
+    }
+
+    /**
+     * Hash of the absolute path of the <b>folder</b> is a part of the name, so month folders of different roots do not
+     * share one snapshot.
+     */
+    private Path getSnapshotPath(File folder) {
+        String absolutePath = folder.toPath().toAbsolutePath().normalize().toString();
+        return Path.of(snapshotFolder, Integer.toHexString(absolutePath.hashCode()) + "-" + folder.getName() +
+          SNAPSHOT_EXTENSION);
+    }
+
+    private Map<String, Section> readSnapshot(Path snapshot, String folderPath, YearMonth month) {
+        if (Files.notExists(snapshot)) {
+            return new HashMap<>();
+        }
+        try {
+            Map<String, Section> sections = PriceSeriesSnapshotCodec.read(snapshot, folderPath, month);
+            log.debug("Snapshot [{}] is read with [{}] series", snapshot, sections.size());
+            return sections;
+        } catch (IOException e) {
+            log.warn("Unable to read snapshot [{}], files of the folder will be parsed", snapshot, e);
+            return new HashMap<>();
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, List<Section> sections) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+            PriceSeriesSnapshotCodec.write(snapshot, sections);
+            log.debug("Snapshot [{}] is written with [{}] series", snapshot, sections.size());
+        } catch (IOException e) {
+            log.warn("Unable to write snapshot [{}]", snapshot, e);
+        }
+    }
+
+    /**
+     * Ingest the file against the current series until the result is published or the current series is actual.
+     * Series of the file loaded for the first time on access is only added to the current dataset, it does not change
+     * data, so versions are not changed.
+     *
+     * @param register true in case if the registry has to be changed along with the series
+     */
+    private PriceSeries ingest(SeriesKey key, String fileName, boolean register) {
+        while (true) {
+            IngestedSeries current = data().get().series().get(key);
+            IngestedSeries ingested = appendOrParse(key, fileName, current);
+            if (current == null && !register) {
+                IngestedSeries installed = data().updateAndGet(actual ->
+                  actual.withAbsentSeries(Map.of(key, ingested))).series().get(key);
+                return Objects.requireNonNullElse(installed, ingested).series();
+            }
+            if (publish(key, fileName, current, ingested, register)) {
+                return ingested.series();
+            }
+            log.debug("Series [{}] is replaced while the file was parsed, it is ingested again", key);
+        }
+    }
+
+    /**
+     * Publish the dataset with the <b>ingested</b> series of the file (null in case if the file is deleted), registry
+     * and rankings changed along with it and the new version, only in case if the series it is based on is still the
+     * <b>expected</b> one.
+     *
+     * @return false in case if the current series is not the <b>expected</b> one anymore
+     */
+    private synchronized boolean publish(SeriesKey key, String fileName, IngestedSeries expected,
+                                         IngestedSeries ingested, boolean register) {
+        Dataset current = data().get();
+        if (current.series().get(key) != expected) {
+            return false;
+        }
+        Registry registry = register && current.registry() != null ?
+          current.registry().withFile(key, fileName) :
+          current.registry();
+        if (ingested == expected && registry == current.registry()) {
+            return true;
+        }
+
+        Map<SeriesKey, IngestedSeries> series = new HashMap<>(current.series());
+        if (ingested == null) {
+            series.remove(key);
+        } else {
+            series.put(key, ingested);
+        }
+        boolean structural = expected == null || ingested == null || registry != current.registry();
+        Dataset changed = new Dataset(current.versions().change(Set.of(key), structural), registry,
+          Map.copyOf(series), null);
+        data().set(changed.withLeaderboard(updateLeaderboard(current.leaderboard(), key.symbol(), changed)));
+        return true;
+    }
+
+    /**
+     * Entries of the changed <b>symbol</b> are moved, series of other files are taken from the <b>changed</b> dataset.
+     *
+     * @return moved rankings, null in case if they have to be built again on the next access
+     */
+    private Leaderboard updateLeaderboard(Leaderboard leaderboard, String symbol, Dataset changed) {
+        if (leaderboard == null || changed.registry() == null) {
+            return null;
+        }
+        try {
+            return leaderboard.update(symbol, changed.registry(), getLoaded(changed.series()));
+        } catch (RuntimeException e) {
+            log.warn("Unable to update rankings for [{}], they will be built on the next access", symbol, e);
+            return null;
+        }
+    }
+
+    /**
+     * Files of all months are loaded before the dataset is published, only changed files are parsed. In case if the
+     * file cannot be parsed, its previous series is kept.
+     */
+    private void loadFiles(Registry registry, Map<SeriesKey, IngestedSeries> series) {
+        registry.fileNamesByMonth().values().forEach(fileNamesBySymbol -> fileNamesBySymbol.values()
+          .forEach(fileName -> {
+              SeriesKey key = toKey(fileName);
+              try {
+                  series.put(key, appendOrParse(key, fileName, series.get(key)));
+              } catch (RuntimeException e) {
+                  log.warn("Unable to load file [{}] on refresh", fileName, e);
+              }
+          }));
+    }
+
+    /**
+     * @return series of the file from the <b>series</b> which are not published yet, null if the file is not loaded
+     */
+    private Function<String, PriceSeries> getLoaded(Map<SeriesKey, IngestedSeries> series) {
+        return fileName -> {
+            IngestedSeries ingested = series.get(toKey(fileName));
+            return ingested == null ? null : ingested.series();
+        };
+    }
+
+    /**
+     * @return dataset staged by {@link #refresh(Runnable)} in case if the current thread warms it up, published one
+     * otherwise
+     */
+    private AtomicReference<Dataset> data() {
+        AtomicReference<Dataset> staged = stagedDataset.get();
+        return staged == null ? dataset : staged;
+    }
+
+    private SeriesKey toKey(String fileName) {
+        return new SeriesKey(getCryptoNameFromFileName(fileName), getMonthFromFilePath(fileName));
+    }
+
+    private IngestedSeries appendOrParse(SeriesKey key, String fileName, IngestedSeries current) {
+        FileVersion version = FileVersion.of(fileName);
+        if (current != null && current.isActualFor(version)) {
+            return current;
+        }
+
+        PriceSeries series = current == null ? null : current.series();
+        FileIngestState state = current == null ? null : current.state();
+        boolean appended = series != null && state != null && state.rowCount() == series.size() &&
+          fileName.equals(series.getFileName()) && !isCompressedFile(fileName) && isAppended(state, version);
+        PriceSeriesBuilder builder = appended ? new PriceSeriesBuilder(series) : new PriceSeriesBuilder(key, fileName);
+        long fromOffset = appended ? state.parsedOffset() : 0;
+
+        long parsedOffset = cryptoParser.parseFromFile(fileName, fromOffset, builder);
+        log.debug("Parsed [{}] rows of the file [{}] from byte [{}]", builder.size() - (appended ? series.size() : 0),
+          fileName, fromOffset);
+        PriceSeries reloaded = builder.build();
+        return new IngestedSeries(reloaded, createState(reloaded, version, parsedOffset));
+    }
+
+    private boolean isAppended(FileIngestState state, FileVersion version) {
+        try {
+            return state.isAppendedIn(version);
+        } catch (IOException e) {
+            log.warn("Unable to check changes of the file [{}], it will be parsed again", version.path(), e);
+            return false;
+        }
+    }
+
+    private FileIngestState createState(PriceSeries series, FileVersion version, long parsedOffset) {
+        try {
+            return FileIngestState.of(version, parsedOffset, series.size());
+        } catch (IOException e) {
+            log.warn("Unable to save state of the file [{}], it will be parsed fully on change", series.getFileName(),
+              e);
+            return null;
+        }
+    }
+
+    /**
+     * @return section of the snapshot for the parsed file, null in case if the last row of the file is still being
+     * written, so the file is parsed again on the next load
+     */
+    private Section toSection(String name, IngestedSeries ingested) {
+        FileIngestState state = ingested.state();
+        if (state == null || state.parsedOffset() != state.version().length()) {
+            return null;
+        }
+        return new Section(name, state.version().length(), state.version().lastModified(), ingested.series());
+    }
+
+}
@@ -0,0 +1,301 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import epam.com.khshanovskyi.dto.Candle;
+import epam.com.khshanovskyi.dto.Crypto;
+import epam.com.khshanovskyi.dto.PageCursor;
+
+/**
+ * Time-ordered index of {@link PriceSeries} of one symbol across months.
+ * Series are ordered by the first timestamp, so rows since the timestamp are found by binary search over series and
+ * then by binary search over rows of the first matched series, all next series are taken fully.
+ */
+public final class PriceTimeline {
+
+    private final String symbol;
+    private final List<PriceSeries> segments;
+    private final long[] segmentEnds;
+
+    private PriceTimeline(String symbol, List<PriceSeries> segments) {
+        this.symbol = symbol;
+        this.segments = segments;
+        this.segmentEnds = new long[segments.size()];
+        long end = Long.MIN_VALUE;
+        for (int i = 0; i < segments.size(); i++) {
+            PriceSeries segment = segments.get(i);
+            // running max keeps ends sorted even if months overlap
+            end = Math.max(end, segment.getTimestamp(segment.size() - 1));
+            segmentEnds[i] = end;
+        }
+    }
+
+    /**
+     * @param series series of the one symbol, empty ones are skipped
+     */
+    public static PriceTimeline of(String symbol, Collection<PriceSeries> series) {
+        return new PriceTimeline(symbol, series.stream()
+          .filter(priceSeries -> !priceSeries.isEmpty())
+          .sorted(Comparator.comparingLong(priceSeries -> priceSeries.getTimestamp(0)))
+          .toList());
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Merge rows of the <b>timelines</b> since the <b>timestamp</b> from the newest to the oldest one. Each series is
+     * read backwards by its own cursor and cursors are ordered by a heap, so rows are produced lazily one by one and
+     * memory depends only on the amount of series.
+     *
+     * @return lazy {@link Stream} of {@link Crypto} with timestamp not less than <b>timestamp</b> in descending order
+     * by timestamp, rows with equal timestamp are ordered by symbol
+     */
+    public static Stream<Crypto> mergeNewestFirst(Collection<PriceTimeline> timelines, long timestamp) {
+        return mergeNewestFirst(timelines, timestamp, null);
+    }
+
+    /**
+     * The same as {@link #mergeNewestFirst(Collection, long)}, but only rows that follow the <b>after</b> position are
+     * merged. The position is found in each series by binary search, so rows before it are not read, and then
+     * {@link PageCursor#returned()} rows with the same timestamp and symbol are skipped.
+     *
+     * @param after position of the last already returned row, null to start from the newest row
+     */
+    public static Stream<Crypto> mergeNewestFirst(Collection<PriceTimeline> timelines, long timestamp,
+                                                  PageCursor after) {
+        // equal rows of different series are merged in the same order, so the amount of returned rows defines them
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparingLong(Cursor::getTimestamp).reversed()
+          .thenComparing(Cursor::getSymbol)
+          .thenComparingInt(Cursor::getSequence));
+        for (PriceTimeline timeline : timelines) {
+            for (int i = timeline.firstSegmentEndingNotBefore(timestamp); i < timeline.segments.size(); i++) {
+                PriceSeries segment = timeline.segments.get(i);
+                int first = segment.lowerBound(timestamp);
+                int end = after == null ? segment.size() : seekAfter(segment, after);
+                if (first < end) {
+                    cursors.add(new Cursor(segment, first, end - 1, cursors.size()));
+                }
+            }
+        }
+
+        Iterator<Crypto> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Crypto next() {
+                Cursor cursor = cursors.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                Crypto crypto = cursor.series.toCrypto(cursor.row);
+                if (cursor.moveBack()) {
+                    cursors.add(cursor);
+                }
+                return crypto;
+            }
+        };
+        Stream<Crypto> merged = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+          Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return after == null ? merged : merged.skip(after.returned());
+    }
+
+    /**
+     * @return {@link Optional} with {@link Crypto} with the lowest price with timestamp in range [from, to], the
+     * oldest one in case of equal prices
+     */
+    public Optional<Crypto> findMinPrice(long from, long to) {
+        return findExtreme(from, to, PriceSeries::indexOfMinPrice, -1);
+    }
+
+    /**
+     * @return {@link Optional} with {@link Crypto} with the highest price with timestamp in range [from, to], the
+     * oldest one in case of equal prices
+     */
+    public Optional<Crypto> findMaxPrice(long from, long to) {
+        return findExtreme(from, to, PriceSeries::indexOfMaxPrice, 1);
+    }
+
+    /**
+     * Extreme of each matched series is found by its {@link PriceRangeIndex}, so only O(log n) work per month.
+     *
+     * @param sign -1 for the lowest price, 1 for the highest one
+     */
+    private Optional<Crypto> findExtreme(long from, long to, RangeSelector selector, int sign) {
+        PriceSeries foundSegment = null;
+        int found = -1;
+        for (int i = firstSegmentEndingNotBefore(from); i < segments.size(); i++) {
+            PriceSeries segment = segments.get(i);
+            if (segment.getTimestamp(0) > to) {
+                break;
+            }
+            int end = to == Long.MAX_VALUE ? segment.size() : segment.lowerBound(to + 1);
+            int index = selector.select(segment, segment.lowerBound(from), end);
+            if (index >= 0 && (foundSegment == null ||
+              Long.compare(segment.getPrice(index), foundSegment.getPrice(found)) * sign > 0)) {
+                foundSegment = segment;
+                found = index;
+            }
+        }
+        return foundSegment == null ? Optional.empty() : Optional.of(foundSegment.toCrypto(found));
+    }
+
+    /**
+     * @return amount of records with timestamp in range [from, to], found by binary search in each series
+     */
+    public long countRecords(long from, long to) {
+        long count = 0;
+        for (int i = firstSegmentEndingNotBefore(from); i < segments.size(); i++) {
+            PriceSeries segment = segments.get(i);
+            if (segment.getTimestamp(0) > to) {
+                break;
+            }
+            int end = to == Long.MAX_VALUE ? segment.size() : segment.lowerBound(to + 1);
+            count += Math.max(0, end - segment.lowerBound(from));
+        }
+        return count;
+    }
+
+    /**
+     * Periods are counted from the first to the last record in the range, so periods without records in between are
+     * counted too. Counting stops after <b>limit</b>, so the work does not depend on the length of the range.
+     *
+     * @return amount of periods of the <b>resolution</b> that overlap records in range [from, to], but not more than
+     * <b>limit</b> + 1
+     */
+    public int countPeriods(CandleResolution resolution, long from, long to, int limit) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (int i = firstSegmentEndingNotBefore(from); i < segments.size(); i++) {
+            PriceSeries segment = segments.get(i);
+            if (segment.getTimestamp(0) > to) {
+                break;
+            }
+            int start = segment.lowerBound(from);
+            int end = to == Long.MAX_VALUE ? segment.size() : segment.lowerBound(to + 1);
+            if (start < end) {
+                first = Math.min(first, segment.getTimestamp(start));
+                last = Math.max(last, segment.getTimestamp(end - 1));
+            }
+        }
+
+        ZoneId zoneId = ZoneId.systemDefault();
+        int count = 0;
+        for (long periodStart = resolution.getPeriodStart(first, zoneId); first <= last && periodStart <= last &&
+          count <= limit; periodStart = resolution.getNextPeriodStart(periodStart, zoneId)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Candles of the same period from neighbour series (on the border of months) are merged.
+     *
+     * @return {@link List} of {@link Candle} of periods that overlap range [from, to] in ascending order by time
+     */
+    public List<Candle> getCandles(CandleResolution resolution, long from, long to) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = firstSegmentEndingNotBefore(resolution.getPeriodStart(from, ZoneId.systemDefault()));
+             i < segments.size(); i++) {
+            for (Candle candle : segments.get(i).getCandles(resolution, from, to)) {
+                int last = candles.size() - 1;
+                if (last >= 0 && candles.get(last).timestampMilliseconds() == candle.timestampMilliseconds()) {
+                    candles.set(last, candles.get(last).merge(candle));
+                } else {
+                    candles.add(candle);
+                }
+            }
+        }
+        return candles;
+    }
+
+    /**
+     * @return index of the first row of the <b>series</b> that does not follow the <b>after</b> position, rows with
+     * the same timestamp and symbol are included
+     */
+    private static int seekAfter(PriceSeries series, PageCursor after) {
+        // rows with equal timestamp are ordered by symbol, so they follow the position only for not less symbol
+        if (series.getSymbol().compareTo(after.symbol()) < 0) {
+            return series.lowerBound(after.timestamp());
+        }
+        return after.timestamp() == Long.MAX_VALUE ? series.size() : series.lowerBound(after.timestamp() + 1);
+    }
+
+    /**
+     * Position in the series that moves from the <b>last</b> row to the <b>first</b> one.
+     */
+    private static final class Cursor {
+
+        private final PriceSeries series;
+        private final int first;
+        private final int sequence;
+        private int row;
+
+        private Cursor(PriceSeries series, int first, int last, int sequence) {
+            this.series = series;
+            this.first = first;
+            this.sequence = sequence;
+            this.row = last;
+        }
+
+        private long getTimestamp() {
+            return series.getTimestamp(row);
+        }
+
+        private String getSymbol() {
+            return series.getSymbol();
+        }
+
+        private int getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return false in case if there are no more rows
+         */
+        private boolean moveBack() {
+            return --row >= first;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeSelector {
+
+        int select(PriceSeries series, int from, int to);
+    }
+
+    private int firstSegmentEndingNotBefore(long timestamp) {
+        int low = 0;
+        int high = segmentEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (segmentEnds[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,27 @@
+package epam.com.khshanovskyi.store;
+
+/**
+ * Windows of {@link NormalizedRangeLeaderboard}: the last presented month or the last days counted back from the day
+ * of the newest record of each Crypto.
+ */
+public enum RankingWindow {
+
+    CURRENT_MONTH(0),
+    LAST_DAY(1),
+    LAST_7_DAYS(7),
+    LAST_30_DAYS(30);
+
+    private final int days;
+
+    RankingWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public boolean isRolling() {
+        return days > 0;
+    }
+}
@@ -0,0 +1,220 @@
+package epam.com.khshanovskyi.store;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import epam.com.khshanovskyi.dto.RollingStatistic;
+
+/**
+ * Rolling statistics of one symbol for the window of the last <b>window</b> records: simple moving average, exponential
+ * moving average and standard deviation for each record of each {@link PriceSeries} of the symbol.
+ * Values are calculated by sliding {@link Accumulator} in O(1) per record. Only the state of the accumulator at the
+ * end of each series is kept (O(window) per series instead of values of each row), so values are calculated on
+ * {@link #get(long, long)} only for series that have records in the range, starting from the state at the end of the
+ * previous series. On {@link #update(List)} states of unchanged series are reused, appended rows of the continued
+ * series are only added, and states of other series are calculated from the state of the previous one.
+ * <br>
+ * Instances are immutable, so can be shared between threads without synchronization.
+ */
+final class RollingStatistics {
+
+    private static final int DECIMAL_SCALE = PriceSeries.PRICE_SCALE;
+
+    private final String symbol;
+    private final int window;
+    private final List<Segment> segments;
+
+    private RollingStatistics(String symbol, int window, List<Segment> segments) {
+        this.symbol = symbol;
+        this.window = window;
+        this.segments = segments;
+    }
+
+    /**
+     * @param series not empty series of the symbol in ascending order by time
+     */
+    static RollingStatistics of(String symbol, int window, List<PriceSeries> series) {
+        return new RollingStatistics(symbol, window, List.of()).update(series);
+    }
+
+    /**
+     * @param series actual not empty series of the symbol in ascending order by time
+     * @return statistics for the <b>series</b>, this instance in case if nothing is changed
+     */
+    RollingStatistics update(List<PriceSeries> series) {
+        List<Segment> updated = new ArrayList<>(series.size());
+        Accumulator accumulator = new Accumulator(window);
+        int index = 0;
+        for (; index < series.size() && index < segments.size(); index++) {
+            if (segments.get(index).series() != series.get(index)) {
+                break;
+            }
+            updated.add(segments.get(index));
+            accumulator = segments.get(index).end();
+        }
+        if (index == segments.size() && index == series.size()) {
+            return this;
+        }
+
+        Segment previous = null;
+        if (index == segments.size() - 1 && index < series.size() &&
+          series.get(index).isContinuationOf(segments.get(index).series())) {
+            // rows are appended to the end of the last series, only they are added
+            previous = segments.get(index);
+        }
+        for (; index < series.size(); index++) {
+            Segment segment = Segment.calculate(series.get(index), accumulator, previous);
+            updated.add(segment);
+            accumulator = segment.end();
+            previous = null;
+        }
+        return new RollingStatistics(symbol, window, List.copyOf(updated));
+    }
+
+    /**
+     * @return {@link List} of {@link RollingStatistic} for records with timestamp in range [from, to] in ascending
+     * order by timestamp
+     */
+    List<RollingStatistic> get(long from, long to) {
+        ZoneId zoneId = ZoneId.systemDefault();
+        List<RollingStatistic> statistics = new ArrayList<>();
+        for (int index = 0; index < segments.size(); index++) {
+            PriceSeries series = segments.get(index).series();
+            int start = series.lowerBound(from);
+            int end = to == Long.MAX_VALUE ? series.size() : series.lowerBound(to + 1);
+            if (start >= end) {
+                continue;
+            }
+            Accumulator accumulator = index == 0 ? new Accumulator(window) : segments.get(index - 1).end().copy();
+            for (int row = 0; row < end; row++) {
+                accumulator.add(series.getPrice(row));
+                if (row < start) {
+                    continue;
+                }
+                long timestamp = series.getTimestamp(row);
+                statistics.add(new RollingStatistic(symbol, timestamp,
+                  LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), zoneId), series.toPrice(row),
+                  accumulator.isFilled() ? toDecimal(accumulator.getMean()) : null,
+                  toDecimal(accumulator.getExponentialMean()),
+                  accumulator.isFilled() ? toDecimal(accumulator.getStandardDeviation()) : null));
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * @return amount of prices kept by states of the accumulator
+     */
+    int weight() {
+        return segments.size() * window;
+    }
+
+    /**
+     * @param fixedPoint value with {@link PriceSeries#PRICE_SCALE} digits after the point
+     */
+    private static BigDecimal toDecimal(double fixedPoint) {
+        return BigDecimal.valueOf(fixedPoint)
+          .movePointLeft(PriceSeries.PRICE_SCALE)
+          .setScale(DECIMAL_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * State of the accumulator after the last row of the series.
+     */
+    private record Segment(PriceSeries series, Accumulator end) {
+
+        /**
+         * @param start    state of the accumulator after the previous series
+         * @param previous state after the first rows of the <b>series</b>, null if all rows have to be added
+         */
+        static Segment calculate(PriceSeries series, Accumulator start, Segment previous) {
+            int from = previous == null ? 0 : previous.series().size();
+            Accumulator accumulator = previous == null ? start.copy() : previous.end().copy();
+            for (int row = from; row < series.size(); row++) {
+                accumulator.add(series.getPrice(row));
+            }
+            return new Segment(series, accumulator);
+        }
+    }
+
+    /**
+     * Sliding sums of the last <b>window</b> fixed-point prices kept in the ring buffer. Prices are shifted by the
+     * first price, so the sum is exact and the sum of squares does not lose precision on high prices.
+     */
+    private static final class Accumulator {
+
+        private final long[] ring;
+        private final double smoothing;
+        private long count;
+        private long reference;
+        private long shiftedSum;
+        private double shiftedSquares;
+        private double exponentialMean;
+
+        private Accumulator(int window) {
+            this.ring = new long[window];
+            this.smoothing = 2.0 / (window + 1);
+        }
+
+        private Accumulator(Accumulator accumulator) {
+            this.ring = accumulator.ring.clone();
+            this.smoothing = accumulator.smoothing;
+            this.count = accumulator.count;
+            this.reference = accumulator.reference;
+            this.shiftedSum = accumulator.shiftedSum;
+            this.shiftedSquares = accumulator.shiftedSquares;
+            this.exponentialMean = accumulator.exponentialMean;
+        }
+
+        Accumulator copy() {
+            return new Accumulator(this);
+        }
+
+        void add(long price) {
+            if (count == 0) {
+                reference = price;
+                exponentialMean = price;
+            } else {
+                exponentialMean += smoothing * (price - exponentialMean);
+            }
+            int position = (int) (count % ring.length);
+            if (count >= ring.length) {
+                long removed = ring[position] - reference;
+                shiftedSum -= removed;
+                shiftedSquares -= (double) removed * removed;
+            }
+            long added = price - reference;
+            ring[position] = price;
+            shiftedSum += added;
+            shiftedSquares += (double) added * added;
+            count++;
+        }
+
+        boolean isFilled() {
+            return count >= ring.length;
+        }
+
+        double getMean() {
+            return reference + (double) shiftedSum / size();
+        }
+
+        double getExponentialMean() {
+            return exponentialMean;
+        }
+
+        double getStandardDeviation() {
+            double shiftedMean = (double) shiftedSum / size();
+            return Math.sqrt(Math.max(0, shiftedSquares / size() - shiftedMean * shiftedMean));
+        }
+
+        private int size() {
+            return (int) Math.min(count, ring.length);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package epam.com.khshanovskyi.store;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import epam.com.khshanovskyi.dto.RollingStatistic;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@link RollingStatistics} by symbol and window. On each access statistics are brought up to date with the
+ * actual series of {@link PriceStore}, only new rows are added, so a request never calculates the whole history again
+ * while files are only appended, and values are calculated only for series with records in the requested range.
+ * Statistics are brought up to date outside of the lock of the map, concurrent requests of the same key can calculate
+ * the same states, the last one is kept.
+ * <br>
+ * Each kept statistics holds the state of the accumulator ('window' prices) per series of the symbol, so statistics
+ * are kept in the Caffeine cache bounded by the total amount of kept prices: statistics of rarely requested symbols
+ * and windows are evicted and calculated again on the next request.
+ * <br>
+ * Statistics are never cleared as a whole: refresh of {@link PriceStore} replaces only changed series, and statistics
+ * are brought up to date with them on the next access, while statistics of the symbol without files are removed on
+ * {@link CryptoFileChangedEvent} or evicted by the bound.
+ */
+@Component
+@Slf4j
+public class RollingStatisticsStore {
+
+    private final PriceStore priceStore;
+    private final SymbolRegistry symbolRegistry;
+    private final Cache<StatisticsKey, RollingStatistics> statisticsByKey;
+
+    public RollingStatisticsStore(PriceStore priceStore, SymbolRegistry symbolRegistry,
+                                  @Value("${rolling.statistics.maximum.weight.prices}") long maximumWeightInPrices) {
+        this.priceStore = priceStore;
+        this.symbolRegistry = symbolRegistry;
+        this.statisticsByKey = Caffeine.newBuilder()
+          .maximumWeight(maximumWeightInPrices)
+          .weigher((StatisticsKey key, RollingStatistics statistics) -> Math.max(1, statistics.weight()))
+          .build();
+    }
+
+    /**
+     * @param symbol symbol of Crypto in upper case
+     * @param window amount of the last records for simple moving average and standard deviation and the period of
+     *               exponential moving average
+     * @return {@link List} of {@link RollingStatistic} for records with timestamp in range [from, to] in ascending
+     * order by timestamp
+     */
+    public List<RollingStatistic> getStatistics(String symbol, int window, long from, long to) {
+        List<PriceSeries> series = symbolRegistry.getMonths(symbol).stream()
+          .map(month -> symbolRegistry.getFileName(symbol, month))
+          .flatMap(Optional::stream)
+          .map(priceStore::getSeries)
+          .filter(priceSeries -> !priceSeries.isEmpty())
+          .sorted(Comparator.comparingLong(priceSeries -> priceSeries.getTimestamp(0)))
+          .toList();
+        StatisticsKey key = new StatisticsKey(symbol, window);
+        RollingStatistics current = statisticsByKey.getIfPresent(key);
+        RollingStatistics statistics = current == null ?
+          RollingStatistics.of(symbol, window, series) :
+          current.update(series);
+        if (statistics != current) {
+            statisticsByKey.put(key, statistics);
+        }
+        return statistics.get(from, to);
+    }
+
+    /**
+     * Statistics of the symbol without files are not needed anymore.
+     */
+    @EventListener
+    public void removeForDeletedSymbol(CryptoFileChangedEvent event) {
+        if (symbolRegistry.getMonths(event.symbol()).isEmpty()) {
+            statisticsByKey.asMap().keySet().removeIf(key -> key.symbol().equals(event.symbol()));
+            log.debug("Rolling statistics of [{}] are removed", event.symbol());
+        }
+    }
+
+    private record StatisticsKey(String symbol, int window) {
+    }
+
+}
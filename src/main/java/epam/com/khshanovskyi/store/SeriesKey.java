@@ -0,0 +1,9 @@
+package epam.com.khshanovskyi.store;
+
+import java.time.YearMonth;
+
+/**
+ * Identifies one {@link PriceSeries}: Crypto short name (BTC) and month of the folder where the file is stored.
+ */
+public record SeriesKey(String symbol, YearMonth month) {
+}
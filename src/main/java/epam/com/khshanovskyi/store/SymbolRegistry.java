@@ -0,0 +1,192 @@
+package epam.com.khshanovskyi.store;
+
+import static epam.com.khshanovskyi.util.FilesUtil.getCryptoNameFromFileName;
+import static epam.com.khshanovskyi.util.FilesUtil.getFileNamesWithPath;
+import static epam.com.khshanovskyi.util.FilesUtil.getFoldersPath;
+import static epam.com.khshanovskyi.util.FilesUtil.getMonthFromFolderPath;
+
+import java.io.File;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+import epam.com.khshanovskyi.exception.UnableToFindFolderByPathException;
+import epam.com.khshanovskyi.util.FilesUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of presented Crypto symbols: months where each symbol is present and files of the symbols by month.
+ * Registry is a part of the {@link Dataset} of {@link PriceStore}: it is built from the folder with Crypto info files
+ * on the first access and changed along with the series of the changed file, so validation of names and resolving of
+ * files do not need file system calls and always match the series of the same version.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SymbolRegistry {
+
+    /**
+     * Plain file has precedence over compressed one, since only plain file can be appended, otherwise the first file
+     * by name.
+     */
+    private static final Comparator<String> FILE_PRECEDENCE = Comparator.comparing(FilesUtil::isCompressedFile)
+      .thenComparing(fileName -> new File(fileName).getName());
+
+    private final PriceStore priceStore;
+
+    /**
+     * @return the last month that has folder with Crypto info files
+     * @throws UnableToFindFolderByPathException in case if there is no month folder
+     */
+    public YearMonth getLastPresentedMonth() {
+        return priceStore.getRegistry().getLastPresentedMonth();
+    }
+
+    /**
+     * @return immutable {@link Set} of symbols presented in the last month
+     * @throws UnableToFindFolderByPathException in case if there is no month folder
+     */
+    public Set<String> getSymbolsOfTheLastPresentedMonth() {
+        Registry registry = priceStore.getRegistry();
+        return registry.getFileNamesBySymbol(registry.getLastPresentedMonth()).keySet();
+    }
+
+    /**
+     * @return {@link NavigableSet} with all presented months in ascending order
+     */
+    public NavigableSet<YearMonth> getMonths() {
+        return priceStore.getRegistry().fileNamesByMonth().navigableKeySet();
+    }
+
+    /**
+     * @return {@link NavigableSet} with months where the <b>symbol</b> is presented in ascending order
+     */
+    public NavigableSet<YearMonth> getMonths(String symbol) {
+        return priceStore.getRegistry().getMonths(symbol);
+    }
+
+    /**
+     * @return immutable {@link Map} with paths to the files of the <b>month</b> by symbol
+     */
+    public Map<String, String> getFileNamesBySymbol(YearMonth month) {
+        return priceStore.getRegistry().getFileNamesBySymbol(month);
+    }
+
+    public Optional<String> getFileName(String symbol, YearMonth month) {
+        return priceStore.getRegistry().getFileName(symbol, month);
+    }
+
+    /**
+     * Immutable state of the registry of the folder <b>root</b>.
+     */
+    record Registry(String root, NavigableMap<YearMonth, Map<String, String>> fileNamesByMonth,
+                    Map<String, NavigableSet<YearMonth>> monthsBySymbol) {
+
+        /**
+         * Read the folder with month folders of Crypto info files.
+         *
+         * @throws UnableToFindFolderByPathException in case if folder is not present
+         */
+        static Registry scan(String root) {
+            Map<YearMonth, Map<String, String>> fileNamesByMonth = new HashMap<>();
+            for (String folderPath : getFoldersPath(root)) {
+                fileNamesByMonth.put(getMonthFromFolderPath(folderPath), scanFolder(folderPath));
+            }
+            return of(root, fileNamesByMonth);
+        }
+
+        /**
+         * Read files of the month folder, one file per symbol. In case if the folder contains several files of the
+         * same symbol (e.g. 'BTC_values.csv' and 'BTC_values.csv.gz'), plain file has precedence over compressed one,
+         * otherwise the first file by name is taken; other files of the symbol are ignored with warning.
+         *
+         * @return {@link Map} with paths to the files of the month by symbol
+         * @throws UnableToFindFolderByPathException in case if folder is not present
+         */
+        static Map<String, String> scanFolder(String folderPath) {
+            Map<String, String> fileNamesBySymbol = new HashMap<>();
+            getFileNamesWithPath(folderPath).stream()
+              .sorted(FILE_PRECEDENCE)
+              .forEach(fileName -> {
+                  String taken = fileNamesBySymbol.putIfAbsent(getCryptoNameFromFileName(fileName), fileName);
+                  if (taken != null) {
+                      log.warn("File [{}] is ignored, since file [{}] of the same symbol is presented in the month",
+                        fileName, taken);
+                  }
+              });
+            return fileNamesBySymbol;
+        }
+
+        static Registry of(String root, Map<YearMonth, Map<String, String>> fileNamesByMonth) {
+            NavigableMap<YearMonth, Map<String, String>> sortedFileNames = new TreeMap<>();
+            Map<String, NavigableSet<YearMonth>> monthsBySymbol = new HashMap<>();
+            fileNamesByMonth.forEach((month, fileNames) -> {
+                sortedFileNames.put(month, Map.copyOf(fileNames));
+                fileNames.keySet().forEach(symbol -> monthsBySymbol.computeIfAbsent(symbol, s -> new TreeSet<>())
+                  .add(month));
+            });
+            monthsBySymbol.replaceAll((symbol, months) -> Collections.unmodifiableNavigableSet(months));
+
+            return new Registry(root, Collections.unmodifiableNavigableMap(sortedFileNames),
+              Map.copyOf(monthsBySymbol));
+        }
+
+        /**
+         * @param fileName path to the file of the series, null in case if the file is deleted
+         * @return registry with the file of the series of the <b>key</b>, the same registry if it is not changed, month
+         * is removed along with its last file in case if its folder is deleted, as it is done by {@link #scan(String)}
+         */
+        Registry withFile(SeriesKey key, String fileName) {
+            Map<String, String> fileNamesOfMonth = new HashMap<>(getFileNamesBySymbol(key.month()));
+            String previous = fileName == null ?
+              fileNamesOfMonth.remove(key.symbol()) :
+              fileNamesOfMonth.put(key.symbol(), fileName);
+            if (Objects.equals(previous, fileName)) {
+                return this;
+            }
+            Map<YearMonth, Map<String, String>> fileNamesByMonth = new HashMap<>(this.fileNamesByMonth);
+            if (fileNamesOfMonth.isEmpty() && !new File(previous).getAbsoluteFile().getParentFile().isDirectory()) {
+                fileNamesByMonth.remove(key.month());
+            } else {
+                fileNamesByMonth.put(key.month(), fileNamesOfMonth);
+            }
+            return of(root, fileNamesByMonth);
+        }
+
+        /**
+         * @throws UnableToFindFolderByPathException in case if there is no month folder
+         */
+        YearMonth getLastPresentedMonth() {
+            if (fileNamesByMonth.isEmpty()) {
+                throw new UnableToFindFolderByPathException(
+                  String.format("Passed path with base folder [%s] does not contain month folders!", root));
+            }
+            return fileNamesByMonth.lastKey();
+        }
+
+        NavigableSet<YearMonth> getMonths(String symbol) {
+            return monthsBySymbol.getOrDefault(symbol, Collections.emptyNavigableSet());
+        }
+
+        Map<String, String> getFileNamesBySymbol(YearMonth month) {
+            return fileNamesByMonth.getOrDefault(month, Map.of());
+        }
+
+        Optional<String> getFileName(String symbol, YearMonth month) {
+            return Optional.ofNullable(getFileNamesBySymbol(month).get(symbol));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package epam.com.khshanovskyi.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * Utils with additional {@link Collector} implementations.
+ */
+public final class CollectorsUtil {
+
+    private CollectorsUtil() {
+    }
+
+    /**
+     * Collect the first <b>limit</b> elements in order of the <b>comparator</b> without sorting of all elements:
+     * bounded heap keeps only <b>limit</b> best elements seen so far, so n elements are selected in O(n log k) time and
+     * O(k) memory, and only selected elements are sorted at the end.
+     * Selection is stable, equal elements keep encounter order, so the result is the same as for
+     * {@code sorted(comparator).limit(limit)}.
+     *
+     * @param comparator order of the result
+     * @param limit      max amount of elements in the result, has to be positive
+     * @return {@link Collector} that provides immutable {@link List} sorted by the <b>comparator</b>
+     * @throws IllegalArgumentException in case if <b>limit</b> is less than 1
+     */
+    public static <T> Collector<T, ?, List<T>> toTopK(Comparator<? super T> comparator, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException(
+              String.format("[limit] cannot be less than 1, current value is [%s]", limit));
+        }
+        Comparator<Ranked<T>> order = Comparator.<Ranked<T>, T>comparing(Ranked::element, comparator)
+          .thenComparingLong(Ranked::sequence);
+        return Collector.of(
+          () -> new TopK<>(order, limit),
+          TopK::add,
+          TopK::addAll,
+          TopK::toList);
+    }
+
+    private record Ranked<T>(T element, long sequence) {
+    }
+
+    private static final class TopK<T> {
+
+        private final Comparator<Ranked<T>> order;
+        private final int limit;
+        // the worst of the selected elements is on the top of the heap, so it is the one to be replaced
+        private final PriorityQueue<Ranked<T>> heap;
+        private long count;
+
+        private TopK(Comparator<Ranked<T>> order, int limit) {
+            this.order = order;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(order.reversed());
+        }
+
+        private void add(T element) {
+            offer(new Ranked<>(element, count++));
+        }
+
+        /**
+         * Elements of <b>other</b> follow elements of this one in encounter order.
+         */
+        private TopK<T> addAll(TopK<T> other) {
+            other.heap.forEach(ranked -> offer(new Ranked<>(ranked.element(), count + ranked.sequence())));
+            count += other.count;
+            return this;
+        }
+
+        private void offer(Ranked<T> ranked) {
+            if (heap.size() < limit) {
+                heap.add(ranked);
+            } else if (order.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
+
+        private List<T> toList() {
+            List<Ranked<T>> selected = new ArrayList<>(heap);
+            selected.sort(order);
+            return selected.stream()
+              .map(Ranked::element)
+              .toList();
+        }
+    }
+
+}
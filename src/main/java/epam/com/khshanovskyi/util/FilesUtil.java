@@ -1,6 +1,8 @@
 package epam.com.khshanovskyi.util;
 
 import java.io.File;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -19,6 +21,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class FilesUtil {
 
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String DEFLATE_EXTENSION = ".deflate";
+    private static final List<String> CRYPTO_FILE_EXTENSIONS =
+      List.of(CSV_EXTENSION, CSV_EXTENSION + GZIP_EXTENSION, CSV_EXTENSION + DEFLATE_EXTENSION);
+
     private FilesUtil() {
     }
 
@@ -53,7 +61,8 @@ public final class FilesUtil {
     }
 
     /**
-     * Extract all file names with current root path from the specified folder.
+     * Extract all Crypto info file names (.csv, .csv.gz or .csv.deflate) with current root path from the specified
+     * folder.
      *
      * @param pathToFolder path to folder that contains Crypto info files
      * @return {@link List<String>} with file names
@@ -63,7 +72,7 @@ public final class FilesUtil {
         checkIfEmpty(pathToFolder);
 
         return Arrays.stream(getListFiles(pathToFolder))
-          .filter(File::isFile)
+          .filter(FilesUtil::isCryptoFile)
           .map(File::getPath)
           .toList();
     }
@@ -80,12 +89,91 @@ public final class FilesUtil {
         checkIfEmpty(pathToFolder);
 
         return Arrays.stream(getListFiles(pathToFolder))
-          .filter(File::isFile)
+          .filter(FilesUtil::isCryptoFile)
           .map(File::getName)
-          .map(fileName -> fileName.split("_")[0])
+          .map(FilesUtil::getCryptoNameFromFileName)
           .toList();
     }
 
+    /**
+     * Extract short crypto name from the file name or path with file: 'crypto/2022-01/BTC_values.csv' -> 'BTC'.
+     *
+     * @param fileName name of the file or path to the file
+     * @return {@link String} with short crypto name (Bitcoin -> BTC)
+     */
+    public static String getCryptoNameFromFileName(String fileName) {
+        checkIfEmpty(fileName);
+
+        return new File(fileName).getName().split("_")[0];
+    }
+
+    /**
+     * Check if the file is Crypto info file: regular file with .csv extension, plain or compressed.
+     *
+     * @param file file from the folder with Crypto info files
+     * @return true in case if file can be parsed as Crypto info file
+     */
+    public static boolean isCryptoFile(File file) {
+        return file.isFile() && isCryptoFileName(file.getName());
+    }
+
+    /**
+     * Check if the name of the file has extension of Crypto info file: .csv, .csv.gz or .csv.deflate.
+     *
+     * @param fileName name of the file or path to the file
+     * @return true in case if file with such name can be parsed as Crypto info file
+     */
+    public static boolean isCryptoFileName(String fileName) {
+        checkIfEmpty(fileName);
+
+        String lowerCaseFileName = fileName.toLowerCase();
+        return CRYPTO_FILE_EXTENSIONS.stream().anyMatch(lowerCaseFileName::endsWith);
+    }
+
+    /**
+     * Check if the file is compressed by its extension: 'BTC_values.csv.gz' -> true, 'BTC_values.csv' -> false.
+     *
+     * @param fileName name of the file or path to the file
+     * @return true in case if file is compressed with gzip or deflate
+     */
+    public static boolean isCompressedFile(String fileName) {
+        checkIfEmpty(fileName);
+
+        String lowerCaseFileName = fileName.toLowerCase();
+        return lowerCaseFileName.endsWith(GZIP_EXTENSION) || lowerCaseFileName.endsWith(DEFLATE_EXTENSION);
+    }
+
+    /**
+     * Extract month from the name of the folder where file is stored: 'crypto/2022-01/BTC_values.csv' -> 2022-01.
+     *
+     * @param filePath path to the file with Crypto info
+     * @return {@link YearMonth}
+     * @throws UnableToFindFolderByPathException in case if name of the folder is not in 'yyyy-MM' format
+     */
+    public static YearMonth getMonthFromFilePath(String filePath) {
+        checkIfEmpty(filePath);
+
+        return getMonthFromFolderPath(new File(filePath).getAbsoluteFile().getParent());
+    }
+
+    /**
+     * Extract month from the name of the folder: 'crypto/2022-01' -> 2022-01.
+     *
+     * @param folderPath path to the folder with Crypto info files
+     * @return {@link YearMonth}
+     * @throws UnableToFindFolderByPathException in case if name of the folder is not in 'yyyy-MM' format
+     */
+    public static YearMonth getMonthFromFolderPath(String folderPath) {
+        checkIfEmpty(folderPath);
+
+        try {
+            return YearMonth.parse(new File(folderPath).getName());
+        } catch (DateTimeParseException e) {
+            throw generateUnableToFindFolderByPathException(String.format(
+              "Folder [%s] has to be named in 'yyyy-MM' format", folderPath)).get();
+        }
+    }
+
     private static void checkIfEmpty(String pathToFolder) {
         if (StringUtils.isEmpty(pathToFolder)) {
             log.warn("Provided path to folder is null or empty");
@@ -0,0 +1,77 @@
+package epam.com.khshanovskyi.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescing of concurrent computations of the same key: the first caller computes the value, callers that come while
+ * the computation is in flight wait for its result (or exception) instead of computing it again.
+ * Nothing is cached, the key is free for the next computation as soon as the current one is finished.
+ * <br>
+ * Computation must not call {@link #execute(Object, Supplier)} of the same instance for the same key.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * @return value computed by this caller or by the concurrent caller of the same <b>key</b>
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> current = inFlight.putIfAbsent(key, call);
+        if (current != null) {
+            coalescedCount.increment();
+            return await(current);
+        }
+
+        executionCount.increment();
+        try {
+            V value = computation.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return amount of computations, each of them was done by the first caller of the key
+     */
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    /**
+     * @return amount of callers that waited for the computation of the other caller
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
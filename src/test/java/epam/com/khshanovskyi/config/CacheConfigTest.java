@@ -0,0 +1,63 @@
+package epam.com.khshanovskyi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import epam.com.khshanovskyi.dto.CryptoPage;
+import epam.com.khshanovskyi.dto.PriceRange;
+import lombok.SneakyThrows;
+
+class CacheConfigTest {
+
+    private static final String CACHE_NAME = "parsed-cryptos-from-csv-range";
+
+    @Test
+    @DisplayName("weighInRows -> provides amount of cached rows")
+    void weighInRows_ProvidesAmountOfCachedRows() {
+        assertEquals(3, CacheConfig.weighInRows("key", List.of(1, 2, 3)));
+        assertEquals(1, CacheConfig.weighInRows("key", List.of()));
+        assertEquals(2, CacheConfig.weighInRows("key", new PriceRange(null, null)));
+        assertEquals(1, CacheConfig.weighInRows("key", new CryptoPage(List.of(), null)));
+        assertEquals(1, CacheConfig.weighInRows("key", "value"));
+    }
+
+    @Test
+    @DisplayName("cacheManager -> bounds each cache by amount of rows and records statistics")
+    void cacheManager_BoundsEachCacheByAmountOfRowsAndRecordsStatistics() {
+        CacheManager cacheManager = createCacheConfig(10).cacheManager();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        IntStream.range(0, 20).forEach(key -> cache.put(key, List.of(key, key, key)));
+        cache.get(19);
+        cache.get(-1);
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+          (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+        nativeCache.cleanUp();
+        assertTrue(nativeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 10);
+        assertTrue(nativeCache.stats().evictionCount() > 0);
+        assertEquals(1, nativeCache.stats().missCount());
+    }
+
+    @SneakyThrows
+    private CacheConfig createCacheConfig(long maximumWeightInRows) {
+        CacheConfig cacheConfig = new CacheConfig();
+        Field maximumWeight = CacheConfig.class.getDeclaredField("maximumWeightInRows");
+        maximumWeight.setAccessible(true);
+        maximumWeight.set(cacheConfig, maximumWeightInRows);
+        Field expireAfterWrite = CacheConfig.class.getDeclaredField("expireAfterWriteMinutes");
+        expireAfterWrite.setAccessible(true);
+        expireAfterWrite.set(cacheConfig, 60L);
+        return cacheConfig;
+    }
+
+}
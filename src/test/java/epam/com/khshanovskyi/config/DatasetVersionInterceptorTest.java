@@ -0,0 +1,168 @@
+package epam.com.khshanovskyi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import epam.com.khshanovskyi.store.CryptoFilesWatcher;
+import epam.com.khshanovskyi.store.PriceStore;
+import lombok.SneakyThrows;
+
+class DatasetVersionInterceptorTest {
+
+    private static final String BTC_FILE = "src/test/resources/crypto/2022-01/BTC_values.csv";
+    private static final String ETH_FILE = "src/test/resources/crypto/2022-01/ETH_values.csv";
+
+    private final PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+    private final DatasetVersionInterceptor interceptor =
+      new DatasetVersionInterceptor(priceStore, new CryptoFilesWatcher(priceStore, event -> {
+      }));
+    private final DatasetVersionResponseAdvice responseAdvice = new DatasetVersionResponseAdvice();
+
+    @Test
+    @DisplayName("preHandle -> keeps ETag and Last-Modified of the dataset version for the successful response only")
+    void preHandle_KeepsETagAndLastModifiedForTheSuccessfulResponseOnly() {
+        priceStore.getSeries(BTC_FILE);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/advice/newest");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+
+        ServletServerHttpResponse successful = new ServletServerHttpResponse(response);
+        responseAdvice.beforeBodyWrite(List.of(), null, null, null, new ServletServerHttpRequest(request), successful);
+        assertEquals(DatasetVersionInterceptor.toETag(priceStore.getVersions().get()),
+          successful.getHeaders().getETag());
+        assertTrue(successful.getHeaders().getLastModified() > 0);
+
+        MockHttpServletResponse errorResponse = new MockHttpServletResponse();
+        errorResponse.setStatus(HttpStatus.BAD_REQUEST.value());
+        ServletServerHttpResponse failed = new ServletServerHttpResponse(errorResponse);
+        responseAdvice.beforeBodyWrite("error", null, null, null, new ServletServerHttpRequest(request), failed);
+        assertNull(failed.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("preHandle -> responds 304 while the version is the same")
+    void preHandle_Responds304WhileTheVersionIsTheSame() {
+        priceStore.getSeries(BTC_FILE);
+        String eTag = getETag("/advice/newest", null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/advice/newest");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+
+        priceStore.remove(BTC_FILE);
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("preHandle -> uses version of the symbol in case if name is passed")
+    void preHandle_UsesVersionOfTheSymbolInCaseIfNameIsPassed() {
+        priceStore.getSeries(BTC_FILE);
+        priceStore.getSeries(ETH_FILE);
+        String btcETag = getETag("/advice/price/range", "btc");
+
+        priceStore.reload(ETH_FILE);
+        assertEquals(btcETag, getETag("/advice/price/range", "btc"));
+
+        priceStore.remove(ETH_FILE);
+        assertNotEquals(btcETag, getETag("/advice/price/range", "btc"));
+    }
+
+    @Test
+    @DisplayName("preHandle -> does not respond 304 after the file is changed while changes are not watched")
+    void preHandle_DoesNotRespond304AfterTheFileIsChangedWhileChangesAreNotWatched(@TempDir Path root)
+      throws IOException {
+        Path file = Files.copy(Path.of(BTC_FILE), Files.createDirectory(root.resolve("2022-01"))
+          .resolve("BTC_values.csv"));
+        priceStore.getSeries(file.toString());
+        String eTag = getETag("/advice/price/range", "BTC");
+        MockHttpServletRequest request = createRequest("/advice/price/range", "BTC");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        assertFalse(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+
+        Files.writeString(file, "1643500800000,BTC,1.5\n", StandardOpenOption.APPEND);
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertNotEquals(eTag, getETag("/advice/price/range", "BTC"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("preHandle -> revalidates files at most once per interval while changes are not watched")
+    void preHandle_RevalidatesFilesAtMostOncePerInterval(@TempDir Path root) {
+        Field revalidationInterval = DatasetVersionInterceptor.class.getDeclaredField("revalidationInterval");
+        revalidationInterval.setAccessible(true);
+        revalidationInterval.set(interceptor, 60_000L);
+        Path file = Files.copy(Path.of(BTC_FILE), Files.createDirectory(root.resolve("2022-01"))
+          .resolve("BTC_values.csv"));
+        priceStore.getSeries(file.toString());
+        String eTag = getETag("/advice/price/range", "BTC");
+        MockHttpServletRequest request = createRequest("/advice/price/range", "BTC");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        Files.writeString(file, "1643500800000,BTC,1.5\n", StandardOpenOption.APPEND);
+
+        assertFalse(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        revalidationInterval.set(interceptor, 0L);
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("preHandle -> uses version of the whole symbol in case if range is absent or is not a timestamp")
+    void preHandle_UsesVersionOfTheWholeSymbolInCaseIfRangeIsAbsentOrNotTimestamp() {
+        priceStore.getSeries(BTC_FILE);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/advice/price/range");
+        request.setParameter("name", "BTC");
+        request.setParameter("from", "wrong");
+        request.setParameter("to", " ");
+        HttpHeaders headers = new HttpHeaders();
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        DatasetVersionInterceptor.addVersionHeaders(request, headers);
+        assertEquals(DatasetVersionInterceptor.toETag(priceStore.getVersions().get("BTC")), headers.getETag());
+    }
+
+    private String getETag(String uri, String name) {
+        MockHttpServletRequest request = createRequest(uri, name);
+        HttpHeaders headers = new HttpHeaders();
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        DatasetVersionInterceptor.addVersionHeaders(request, headers);
+        return headers.getETag();
+    }
+
+    private MockHttpServletRequest createRequest(String uri, String name) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (name != null) {
+            request.setParameter("name", name);
+            request.setParameter("from", "1641009600000");
+            request.setParameter("to", "1643655600000");
+        }
+        return request;
+    }
+
+}
@@ -4,17 +4,30 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import epam.com.khshanovskyi.dto.Crypto;
 import epam.com.khshanovskyi.exception.UnableToFindFileByPathException;
+import epam.com.khshanovskyi.exception.UnableToParseFileException;
+import lombok.SneakyThrows;
 
 class CryptoDtoParserTest {
 
@@ -51,4 +64,121 @@ class CryptoDtoParserTest {
         assertNotNull(cryptos.get(0).getLocalDateTime());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("parseFromFile -> keeps exact price, skips header and handles file without last line separator")
+    void parseFromFile_KeepsExactValuesOfRows(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("BTC_values.csv");
+        Files.writeString(file, "timestamp,symbol,price\r\n1641009600000,BTC,46813.21\r\n\n1641020400000,BTC,0.1702");
+
+        List<Crypto> cryptos = cryptoParser.parseFromFile(file.toString());
+
+        assertEquals(2, cryptos.size());
+        assertEquals(1641009600000L, cryptos.get(0).getTimestampMilliseconds());
+        assertEquals(new BigDecimal("46813.21"), cryptos.get(0).getPrice());
+        assertEquals(new BigDecimal("0.1702"), cryptos.get(1).getPrice());
+        assertEquals("BTC", cryptos.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("parseFromFile -> throws UnableToParseFileException when row has wrong format")
+    void parseFromFile_ThrowsUnableToParseFileExceptionWhenRowIsWrong(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("BTC_values.csv");
+        Files.writeString(file, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641020400000,BTC,abc\n");
+
+        assertThrows(UnableToParseFileException.class, () -> cryptoParser.parseFromFile(file.toString()));
+    }
+
+    @Test
+    @DisplayName("parseFromFile -> parses only complete rows after the offset and provides offset of the next portion")
+    void parseFromFile_ParsesOnlyCompleteRowsAfterOffset(@TempDir Path folder) throws IOException {
+        String head = "timestamp,symbol,price\n1641009600000,BTC,46813.21\n";
+        Path file = Files.writeString(folder.resolve("BTC_values.csv"), head + "1641020400000,BTC,46979.61\n164103");
+        List<Long> timestamps = new ArrayList<>();
+
+        long offset = cryptoParser.parseFromFile(file.toString(), head.length(),
+          (timestamp, name, unscaledPrice, scale) -> timestamps.add(timestamp));
+
+        assertEquals(List.of(1641020400000L), timestamps);
+        assertEquals(Files.size(file) - "164103".length(), offset);
+        assertEquals(offset, cryptoParser.parseFromFile(file.toString(), offset, (timestamp, name, price, scale) -> {
+            throw new IllegalStateException("Incomplete row cannot be parsed");
+        }));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("parseFromFile -> memory mapped parsing by chunks provides the same result as buffered one")
+    void parseFromFile_MappedParsingProvidesTheSameResult() {
+        String fileName = "src/test/resources/crypto/2022-01/BTC_values.csv";
+        CryptoDtoParser mappedParser = new CryptoDtoParser();
+        setField(mappedParser, "mappedFileSizeThreshold", 0L);
+        setField(mappedParser, "mappedChunkSize", 100L);
+
+        assertEquals(cryptoParser.parseFromFile(fileName), mappedParser.parseFromFile(fileName));
+    }
+
+    @Test
+    @DisplayName("parseFromFile -> whole parse from 0 passes the last row without line separator")
+    void parseFromFile_WholeParsePassesLastRowWithoutLineSeparator(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641020400000,BTC,46979.61");
+        List<Long> timestamps = new ArrayList<>();
+
+        long offset = cryptoParser.parseFromFile(file.toString(), 0,
+          (timestamp, name, unscaledPrice, scale) -> timestamps.add(timestamp));
+
+        assertEquals(List.of(1641009600000L, 1641020400000L), timestamps);
+        assertEquals(Files.size(file), offset);
+        assertEquals(cryptoParser.parseFromFile(file.toString()).size(), timestamps.size());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("parseFromFile -> memory mapped streaming from 0 passes the same rows as buffered one")
+    void parseFromFile_MappedStreamingFromBeginningPassesTheSameRows(@TempDir Path folder) {
+        String rows = Files.readString(Path.of("src/test/resources/crypto/2022-01/BTC_values.csv"));
+        Path file = Files.writeString(folder.resolve("BTC_values.csv"), rows + "1643670000000,BTC,38415.79");
+        CryptoDtoParser mappedParser = new CryptoDtoParser();
+        setField(mappedParser, "mappedFileSizeThreshold", 0L);
+        setField(mappedParser, "mappedChunkSize", 100L);
+        List<String> buffered = new ArrayList<>();
+        List<String> mapped = new ArrayList<>();
+
+        long bufferedOffset = cryptoParser.parseFromFile(file.toString(), 0,
+          (timestamp, name, unscaledPrice, scale) -> buffered.add(timestamp + name + unscaledPrice + "e" + scale));
+        long mappedOffset = mappedParser.parseFromFile(file.toString(), 0,
+          (timestamp, name, unscaledPrice, scale) -> mapped.add(timestamp + name + unscaledPrice + "e" + scale));
+
+        assertEquals(cryptoParser.parseFromFile(file.toString()).size(), buffered.size());
+        assertEquals(buffered, mapped);
+        assertEquals(Files.size(file), bufferedOffset);
+        assertEquals(bufferedOffset, mappedOffset);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"BTC_values.csv.gz", "BTC_values.csv.deflate"})
+    @DisplayName("parseFromFile -> compressed file provides the same result as plain one")
+    void parseFromFile_CompressedFileProvidesTheSameResult(String compressedFileName, @TempDir Path folder)
+      throws IOException {
+        String fileName = "src/test/resources/crypto/2022-01/BTC_values.csv";
+        Path compressed = folder.resolve(compressedFileName);
+        try (OutputStream outputStream = compressedFileName.endsWith(".gz")
+          ? new GZIPOutputStream(Files.newOutputStream(compressed))
+          : new DeflaterOutputStream(Files.newOutputStream(compressed))) {
+            Files.copy(Path.of(fileName), outputStream);
+        }
+        CryptoDtoParser mappedParser = new CryptoDtoParser();
+        setField(mappedParser, "mappedFileSizeThreshold", 0L);
+
+        assertEquals(cryptoParser.parseFromFile(fileName), cryptoParser.parseFromFile(compressed.toString()));
+        assertEquals(cryptoParser.parseFromFile(fileName), mappedParser.parseFromFile(compressed.toString()));
+    }
+
+    @SneakyThrows
+    private static void setField(CryptoDtoParser parser, String name, Object value) {
+        Field field = CryptoDtoParser.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(parser, value);
+    }
+
+}
@@ -1,12 +1,18 @@
 package epam.com.khshanovskyi.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -16,18 +22,30 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EmptySource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import epam.com.khshanovskyi.dto.Candle;
 import epam.com.khshanovskyi.dto.Crypto;
+import epam.com.khshanovskyi.dto.CryptoPage;
 import epam.com.khshanovskyi.dto.NormalizedCrypto;
+import epam.com.khshanovskyi.dto.PriceRange;
+import epam.com.khshanovskyi.dto.RollingStatistic;
 import epam.com.khshanovskyi.exception.CryptoNameDoesNotExistException;
 import epam.com.khshanovskyi.exception.CryptoValuesNotPresentException;
 import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import epam.com.khshanovskyi.store.CandleResolution;
+import epam.com.khshanovskyi.store.NormalizedRangeLeaderboard;
+import epam.com.khshanovskyi.store.PriceStore;
+import epam.com.khshanovskyi.store.RankingWindow;
+import epam.com.khshanovskyi.store.RollingStatisticsStore;
+import epam.com.khshanovskyi.store.SymbolRegistry;
 import lombok.SneakyThrows;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -51,13 +69,8 @@ class CryptoServiceTest {
     @BeforeAll
     @SneakyThrows
     static void beforeAll() {
-        cryptoService = new CryptoService(new CryptoDtoParser());
-        cryptoServiceForExceptionCases = new CryptoService(new CryptoDtoParser());
-
-        Field pathToFolder = CryptoService.class.getDeclaredField("pathToFolder");
-        pathToFolder.setAccessible(true);
-        pathToFolder.set(cryptoService, PATH_TO_FOLDER_WITH_FOLDERS);
-        pathToFolder.set(cryptoServiceForExceptionCases, PATH_TO_FOLDER_WITH_FOLDERS_FOR_EXCEPTION_CASES);
+        cryptoService = createCryptoService(PATH_TO_FOLDER_WITH_FOLDERS);
+        cryptoServiceForExceptionCases = createCryptoService(PATH_TO_FOLDER_WITH_FOLDERS_FOR_EXCEPTION_CASES);
     }
 
     @Test
@@ -304,42 +317,247 @@ class CryptoServiceTest {
         assertTrue(cryptos.get(0).index().compareTo(cryptos.get(cryptos.size() - 1).index()) > 0);
     }
 
+    @Test
     @Order(28)
+    @SneakyThrows
+    @DisplayName("normalize -> provides normalized range and close value of each Crypto for day of not the last month")
+    void normalize_ProvidesNormalizedRangeForDayOfNotTheLastPresentedMonth(@TempDir Path root) {
+        Files.writeString(Files.createDirectories(root.resolve("2021-06")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1623754800000,BTC,100\n1623758400000,BTC,150\n1623762000000,BTC,120\n");
+        Files.copy(Path.of(PATH_TO_FOLDER_WITH_FOLDERS, "2022-01", "BTC_values.csv"),
+          Files.createDirectories(root.resolve("2022-01")).resolve("BTC_values.csv"));
+        CryptoService service = createCryptoService(root.toString());
+
+        List<NormalizedCrypto> cryptos = service.normalize(LocalDate.parse("2021-06-15"), null);
+
+        assertEquals(1, cryptos.size());
+        assertEquals(new BigDecimal("0.500000"), cryptos.get(0).index());
+        assertEquals(new BigDecimal("120"), cryptos.get(0).crypto().getPrice());
+    }
+
+    @Order(29)
     @ParameterizedTest
     @EmptySource
-    @DisplayName("getCryptoByNameAndRangeOfDays -> throws NullPointerException when cryptoName is empty")
-    void getCryptoByNameAndRangeOfDays_ThrowsNullPointerExceptionWhenParamNullOrEmpty(String cryptoName) {
-        assertThrows(NullPointerException.class, () -> cryptoService.getCryptoByNameAndRangeOfDays(1, cryptoName));
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> throws NullPointerException when cryptoName is empty")
+    void streamCryptoByNameAndRangeOfDays_ThrowsNullPointerExceptionWhenParamNullOrEmpty(String cryptoName) {
+        assertThrows(NullPointerException.class, () -> cryptoService.streamCryptoByNameAndRangeOfDays(1, cryptoName));
     }
 
     @Test
-    @Order(29)
-    @DisplayName("getCryptoByNameAndRangeOfDays -> throws CryptoNameDoesNotExistException when cryptoName is wrong")
-    void getCryptoByNameAndRangeOfDays_ThrowsCryptoNameDoesNotExistExceptionWhenCryptoNameDoesNotExist() {
+    @Order(30)
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> throws CryptoNameDoesNotExistException when cryptoName is wrong")
+    void streamCryptoByNameAndRangeOfDays_ThrowsCryptoNameDoesNotExistExceptionWhenCryptoNameDoesNotExist() {
         assertThrows(CryptoNameDoesNotExistException.class,
-          () -> cryptoService.getCryptoByNameAndRangeOfDays(1, WRONG_NAME));
+          () -> cryptoService.streamCryptoByNameAndRangeOfDays(1, WRONG_NAME));
     }
 
-    @Order(30)
+    @Order(31)
     @ParameterizedTest
-    @ValueSource(ints = {0, 366})
-    @DisplayName("getCryptoByNameAndRangeOfDays -> throws IllegalArgumentException when amountOfDays out of bounds")
-    void getCryptoByNameAndRangeOfDays_ThrowsIllegalArgumentExceptionWhenAmountOutOfBound(int amountOfDays) {
+    @ValueSource(ints = {0, -1})
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> throws IllegalArgumentException when amountOfDays out of bounds")
+    void streamCryptoByNameAndRangeOfDays_ThrowsIllegalArgumentExceptionWhenAmountOutOfBound(int amountOfDays) {
         assertThrows(IllegalArgumentException.class,
-          () -> cryptoService.getCryptoByNameAndRangeOfDays(amountOfDays, WRONG_NAME));
+          () -> cryptoService.streamCryptoByNameAndRangeOfDays(amountOfDays, WRONG_NAME));
     }
 
-    @Order(27)
+    @Order(32)
     @ParameterizedTest
-    @MethodSource("getCryptoByNameAndRangeOfDays_provideParams")
-    @DisplayName("getCryptoByNameAndRangeOfDays -> check if result is correct for files with bounded amount")
-    void getCryptoByNameAndRangeOfDays_ProvidesListCryptoDtoFromFilesBy(int amountOfDays, String cryptoName) {
-        List<Crypto> cryptos = cryptoService.getCryptoByNameAndRangeOfDays(amountOfDays, cryptoName);
+    @MethodSource("streamCryptoByNameAndRangeOfDays_provideParams")
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> check if result is correct for files with bounded amount")
+    void streamCryptoByNameAndRangeOfDays_ProvidesListCryptoDtoFromFilesBy(int amountOfDays, String cryptoName) {
+        List<Crypto> cryptos = cryptoService.streamCryptoByNameAndRangeOfDays(amountOfDays, cryptoName).toList();
 
         notNullAsserts(cryptos);
         assertTrue(cryptos.get(0).getLocalDateTime().isAfter(cryptos.get(cryptos.size() - 1).getLocalDateTime()));
     }
 
+    @Order(33)
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 40})
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> provides records of exactly the last days counted from newest")
+    void streamCryptoByNameAndRangeOfDays_ProvidesRecordsOfExactlyTheLastDays(int amountOfDays) {
+        List<Crypto> cryptos = cryptoService.streamCryptoByNameAndRangeOfDays(amountOfDays, BTC).toList();
+        LocalDate newestDay = cryptoService.getNewest(BTC).getLocalDateTime().toLocalDate();
+        List<LocalDate> days = cryptos.stream()
+          .map(crypto -> crypto.getLocalDateTime().toLocalDate())
+          .distinct()
+          .toList();
+
+        assertEquals(newestDay, days.get(0));
+        assertTrue(days.stream().noneMatch(day -> day.isBefore(newestDay.minusDays(amountOfDays - 1L))));
+        assertEquals(Math.min(amountOfDays, 31), days.size());
+    }
+
+    @Test
+    @Order(34)
+    @SneakyThrows
+    @DisplayName("getPriceRange -> provides min and max price of the range that covers several months")
+    void getPriceRange_ProvidesMinAndMaxPriceOfRangeAcrossMonths(@TempDir Path root) {
+        Files.writeString(Files.createDirectories(root.resolve("2021-06")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1623754800000,BTC,100\n1623758400000,BTC,150\n1623762000000,BTC,120\n");
+        Files.writeString(Files.createDirectories(root.resolve("2021-07")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625137200000,BTC,90\n1625140800000,BTC,150\n1625144400000,BTC,200\n");
+        CryptoService service = createCryptoService(root.toString());
+
+        PriceRange wholeRange = service.getPriceRange(BTC_LOWER_CASE, 1623754800000L, 1625144400000L);
+        assertEquals(new BigDecimal("90"), wholeRange.min().getPrice());
+        assertEquals(new BigDecimal("200"), wholeRange.max().getPrice());
+
+        PriceRange partOfRange = service.getPriceRange(BTC, 1623758400000L, 1625140800000L);
+        assertEquals(new BigDecimal("90"), partOfRange.min().getPrice());
+        assertEquals(new BigDecimal("150"), partOfRange.max().getPrice());
+        assertEquals(1623758400000L, partOfRange.max().getTimestampMilliseconds());
+
+        assertThrows(CryptoValuesNotPresentException.class, () -> service.getPriceRange(BTC, 0L, 1000L));
+        assertThrows(IllegalArgumentException.class, () -> service.getPriceRange(BTC, 1000L, 0L));
+        assertThrows(CryptoNameDoesNotExistException.class, () -> service.getPriceRange(WRONG_NAME, 0L, 1000L));
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("getMaxByPrice, getNewest, normalize -> provide the first values of the full list by limit")
+    void getMaxByPriceGetNewestNormalize_ProvideTheFirstValuesByLimit() {
+        assertEquals(cryptoService.getMaxByPrice().subList(0, 2), cryptoService.getMaxByPrice(2));
+        assertEquals(cryptoService.getNewest().subList(0, 3), cryptoService.getNewest(3));
+        assertEquals(cryptoService.normalize(DAY, null).subList(0, 1), cryptoService.normalize(DAY, null, 1));
+        assertEquals(cryptoService.getOldest(), cryptoService.getOldest(100));
+        assertThrows(IllegalArgumentException.class, () -> cryptoService.getMinByPrice(0));
+    }
+
+    @Order(36)
+    @ParameterizedTest
+    @EnumSource(RankingWindow.class)
+    @DisplayName("getNormalizedRangeRanking -> provides ranking of all Crypto descending by normalized range")
+    void getNormalizedRangeRanking_ProvidesRankingDescendingByNormalizedRange(RankingWindow window) {
+        List<NormalizedCrypto> ranking = cryptoService.getNormalizedRangeRanking(window);
+
+        assertEquals(5, ranking.size());
+        for (int i = 1; i < ranking.size(); i++) {
+            assertTrue(ranking.get(i - 1).index().compareTo(ranking.get(i).index()) >= 0);
+        }
+        assertEquals(ranking.subList(0, 2), cryptoService.getNormalizedRangeRanking(window, 2));
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("getNormalizedRangeRanking -> provides the same ranking for the month as normalize without day")
+    void getNormalizedRangeRanking_ProvidesTheSameRankingForMonthAsNormalize() {
+        assertEquals(cryptoService.normalize(null, null),
+          cryptoService.getNormalizedRangeRanking(RankingWindow.CURRENT_MONTH));
+        assertThrows(CryptoValuesNotPresentException.class,
+          () -> cryptoServiceForExceptionCases.getNormalizedRangeRanking(RankingWindow.LAST_DAY));
+    }
+
+    @Test
+    @Order(38)
+    @SneakyThrows
+    @DisplayName("getCandles -> provides candles merged from several months for the period on the border of months")
+    void getCandles_ProvidesCandlesMergedFromSeveralMonths(@TempDir Path root) {
+        Files.writeString(Files.createDirectories(root.resolve("2021-06")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625054400000,BTC,100\n");
+        Files.writeString(Files.createDirectories(root.resolve("2021-07")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625140800000,BTC,90\n1625144400000,BTC,200\n");
+        CryptoService service = createCryptoService(root.toString());
+
+        List<Candle> weekly = service.getCandles(BTC, CandleResolution.WEEK, 1625054400000L, 1625144400000L);
+        assertEquals(1, weekly.size());
+        assertEquals(new BigDecimal("100"), weekly.get(0).open());
+        assertEquals(new BigDecimal("200"), weekly.get(0).high());
+        assertEquals(new BigDecimal("90"), weekly.get(0).low());
+        assertEquals(new BigDecimal("200"), weekly.get(0).close());
+        assertEquals(3, weekly.get(0).count());
+        assertEquals(2, service.getCandles(BTC, CandleResolution.DAY, 1625054400000L, 1625144400000L).size());
+        assertEquals(3, service.getCandles(BTC_LOWER_CASE, CandleResolution.HOUR, 0L, Long.MAX_VALUE).size());
+
+        assertThrows(CryptoValuesNotPresentException.class,
+          () -> service.getCandles(BTC, CandleResolution.HOUR, 0L, 1000L));
+        assertThrows(IllegalArgumentException.class, () -> service.getCandles(BTC, CandleResolution.HOUR, 1000L, 0L));
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("getCandles -> throws IllegalArgumentException when range contains more than 1000 periods")
+    @SneakyThrows
+    void getCandles_ThrowsIllegalArgumentExceptionWhenRangeIsTooLarge(@TempDir Path root) {
+        Files.writeString(Files.createDirectories(root.resolve("2021-06")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625054400000,BTC,100\n");
+        Files.writeString(Files.createDirectories(root.resolve("2021-09")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1630497600000,BTC,90\n");
+        CryptoService service = createCryptoService(root.toString());
+
+        assertThrows(IllegalArgumentException.class,
+          () -> service.getCandles(BTC, CandleResolution.HOUR, 0L, Long.MAX_VALUE));
+        assertEquals(1, service.getCandles(BTC, CandleResolution.HOUR, 1630497600000L, Long.MAX_VALUE).size());
+        assertEquals(2, service.getCandles(BTC, CandleResolution.DAY, 0L, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    @Order(40)
+    @DisplayName("getRollingStatistics -> provides statistics of each record in the range and validates parameters")
+    void getRollingStatistics_ProvidesStatisticsOfEachRecordInRange() {
+        Crypto newest = cryptoService.getNewest(BTC);
+        List<RollingStatistic> statistics =
+          cryptoService.getRollingStatistics(BTC_LOWER_CASE, 5, 0L, newest.getTimestampMilliseconds());
+
+        assertEquals(newest.getTimestampMilliseconds(), statistics.get(statistics.size() - 1).timestampMilliseconds());
+        assertNull(statistics.get(3).simpleMovingAverage());
+        assertNotNull(statistics.get(4).simpleMovingAverage());
+        assertNotNull(statistics.get(0).exponentialMovingAverage());
+
+        assertThrows(IllegalArgumentException.class, () -> cryptoService.getRollingStatistics(BTC, 0, 0L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> cryptoService.getRollingStatistics(BTC, 1001, 0L, 1L));
+        assertThrows(CryptoNameDoesNotExistException.class,
+          () -> cryptoService.getRollingStatistics(WRONG_NAME, 5, 0L, 1L));
+        assertThrows(CryptoValuesNotPresentException.class, () -> cryptoService.getRollingStatistics(BTC, 5, 0L, 1L));
+    }
+
+    @Test
+    @Order(41)
+    @DisplayName("streamCryptoByNameAndRangeOfDays -> provides records of all Crypto in descending order by time")
+    void streamCryptoByNameAndRangeOfDays_ProvidesRecordsMergedInDescendingOrder() {
+        List<Crypto> cryptos = cryptoService.streamCryptoByNameAndRangeOfDays(30, null).toList();
+
+        assertFalse(cryptos.isEmpty());
+        for (int i = 1; i < cryptos.size(); i++) {
+            assertTrue(cryptos.get(i - 1).getTimestampMilliseconds() >= cryptos.get(i).getTimestampMilliseconds());
+        }
+        assertEquals(cryptos.stream().filter(crypto -> BTC.equals(crypto.getName())).toList(),
+          cryptoService.streamCryptoByNameAndRangeOfDays(30, BTC).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> cryptoService.streamCryptoByNameAndRangeOfDays(0, null));
+        assertThrows(CryptoNameDoesNotExistException.class,
+          () -> cryptoService.streamCryptoByNameAndRangeOfDays(1, WRONG_NAME));
+    }
+
+    @Order(42)
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7})
+    @DisplayName("getCryptoPageByNameAndRangeOfDays -> provides all records page by page and validates parameters")
+    void getCryptoPageByNameAndRangeOfDays_ProvidesAllRecordsPageByPage(int pageSize) {
+        List<Crypto> expected = cryptoService.streamCryptoByNameAndRangeOfDays(1000, null).toList();
+
+        List<Crypto> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            CryptoPage page = cryptoService.getCryptoPageByNameAndRangeOfDays(1000, null, pageSize, cursor);
+            assertTrue(page.cryptos().size() <= pageSize);
+            actual.addAll(page.cryptos());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals(expected, actual);
+
+        CryptoPage all = cryptoService.getCryptoPageByNameAndRangeOfDays(1000, null, expected.size(), null);
+        assertEquals(expected, all.cryptos());
+        assertNull(all.nextCursor());
+
+        assertThrows(IllegalArgumentException.class,
+          () -> cryptoService.getCryptoPageByNameAndRangeOfDays(1, null, 0, null));
+        assertThrows(IllegalArgumentException.class,
+          () -> cryptoService.getCryptoPageByNameAndRangeOfDays(1, null, 1001, null));
+        assertThrows(IllegalArgumentException.class,
+          () -> cryptoService.getCryptoPageByNameAndRangeOfDays(1, null, 10, "not a cursor"));
+    }
+
     private static Stream<Arguments> normalize_provideParams() {
         return Stream.of(Arguments.of(null, null),
           Arguments.of(DAY, null),
@@ -347,7 +565,7 @@ class CryptoServiceTest {
           Arguments.of(DAY, DAY_IN_MILLISECONDS));
     }
 
-    private static Stream<Arguments> getCryptoByNameAndRangeOfDays_provideParams() {
+    private static Stream<Arguments> streamCryptoByNameAndRangeOfDays_provideParams() {
         return Stream.of(Arguments.of(5, null),
           Arguments.of(5, BTC));
     }
@@ -359,10 +577,21 @@ class CryptoServiceTest {
           Arguments.of(DAY_NOT_EXISTING, DAY_IN_MILLISECONDS_NOT_EXISTING));
     }
 
+    @SneakyThrows
+    private static CryptoService createCryptoService(String pathToFolderWithFolders) {
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(priceStore, pathToFolderWithFolders);
+        SymbolRegistry symbolRegistry = new SymbolRegistry(priceStore);
+        return new CryptoService(priceStore, symbolRegistry, new NormalizedRangeLeaderboard(priceStore),
+          new RollingStatisticsStore(priceStore, symbolRegistry, 1_000_000));
+    }
+
     private void notNullAsserts(List<Crypto> cryptos) {
         assertNotNull(cryptos);
         assertNotNull(cryptos.get(0));
         assertNotNull(cryptos.get(0).getLocalDateTime());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import lombok.SneakyThrows;
+
+class CryptoFilesWatcherTest {
+
+    private static final String BTC_FILE = "src/test/resources/crypto/2022-01/BTC_values.csv";
+    private static final YearMonth JANUARY = YearMonth.of(2022, 1);
+
+    @Test
+    @DisplayName("watch -> removes each known file of the month folder when the folder is deleted")
+    void watch_RemovesEachKnownFileOfTheMonthFolderWhenTheFolderIsDeleted(@TempDir Path root, @TempDir Path other)
+      throws IOException, InterruptedException {
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        Files.createFile(folder.resolve("ETH_values.csv"));
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        setField(priceStore, "pathToFolder", root.toString());
+        SymbolRegistry symbolRegistry = new SymbolRegistry(priceStore);
+        priceStore.getSeries(file.toString());
+        assertEquals(JANUARY, symbolRegistry.getLastPresentedMonth());
+
+        BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        CryptoFilesWatcher watcher = new CryptoFilesWatcher(priceStore, events::add);
+        setField(watcher, "pathToFolder", root.toString());
+        setField(watcher, "watcherEnabled", true);
+        setField(watcher, "debounceMilliseconds", 0L);
+        watcher.start();
+        try {
+            assertTrue(watcher.isRunning());
+            // the folder is moved out at once, so files of the folder do not produce own events
+            Files.move(folder, other.resolve("2022-01"));
+
+            CryptoFileChangedEvent first = (CryptoFileChangedEvent) events.poll(10, TimeUnit.SECONDS);
+            CryptoFileChangedEvent second = (CryptoFileChangedEvent) events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(first);
+            assertNotNull(second);
+            assertEquals(JANUARY, first.month());
+            assertEquals(JANUARY, second.month());
+            assertTrue(symbolRegistry.getMonths().isEmpty());
+            assertTrue(priceStore.getKnownFileNames(folder).isEmpty());
+        } finally {
+            watcher.stop();
+        }
+    }
+
+    @SneakyThrows
+    private void setField(Object target, String name, Object value) {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+}
@@ -0,0 +1,93 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import lombok.SneakyThrows;
+
+class DatasetVersionsTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2022, 1);
+    private static final YearMonth DECEMBER = YearMonth.of(2021, 12);
+    private static final SeriesKey BTC_OF_JANUARY = new SeriesKey("BTC", JANUARY);
+    private static final SeriesKey ETH_OF_JANUARY = new SeriesKey("ETH", JANUARY);
+    private static final SeriesKey BTC_OF_DECEMBER = new SeriesKey("BTC", DECEMBER);
+
+    @Test
+    @DisplayName("change -> changes versions of the dataset and series of the symbol only")
+    void change_ChangesVersionsOfTheDatasetAndSeriesOfTheSymbolOnly() {
+        DatasetVersions versions = DatasetVersions.initial()
+          .change(Set.of(BTC_OF_JANUARY, ETH_OF_JANUARY, BTC_OF_DECEMBER), true);
+
+        DatasetVersions changed = versions.change(Set.of(BTC_OF_JANUARY), false);
+
+        assertTrue(changed.get().number() > versions.get().number());
+        assertTrue(changed.get().lastModified() >= versions.get().lastModified());
+        assertTrue(changed.get("btc").number() > versions.get("BTC").number());
+        assertEquals(versions.get("ETH"), changed.get("ETH"));
+        assertEquals(versions.get(null), changed.get(null));
+    }
+
+    @Test
+    @DisplayName("change -> changes versions of all symbols in case if series is added or removed")
+    void change_ChangesVersionsOfAllSymbolsInCaseIfSeriesIsAddedOrRemoved() {
+        DatasetVersions versions = DatasetVersions.initial().change(Set.of(ETH_OF_JANUARY), true);
+
+        DatasetVersions changed = versions.change(Set.of(BTC_OF_DECEMBER), true);
+
+        assertTrue(changed.get("ETH").number() > versions.get("ETH").number());
+        assertTrue(changed.get("WRONG").number() > versions.get("WRONG").number());
+    }
+
+    @Test
+    @DisplayName("change -> provides the same versions in case if nothing is changed")
+    void change_ProvidesTheSameVersionsInCaseIfNothingIsChanged() {
+        DatasetVersions versions = DatasetVersions.initial();
+
+        assertSame(versions, versions.change(Set.of(), false));
+    }
+
+    @Test
+    @DisplayName("getVersions -> keeps version on the first load of the file and changes it when the file is changed")
+    void getVersions_ChangesVersionOnlyWhenTheFileIsChanged(@TempDir Path root) throws IOException {
+        Path file = Files.copy(Path.of("src/test/resources/crypto/2022-01/BTC_values.csv"),
+          Files.createDirectory(root.resolve("2022-01")).resolve("BTC_values.csv"));
+        PriceStore priceStore = createPriceStore(root);
+        DatasetVersion initial = priceStore.getVersions().get();
+
+        priceStore.getSeries(file.toString());
+        assertEquals(initial, priceStore.getVersions().get());
+
+        Files.writeString(file, "1643673600000,BTC,1.5\n", StandardOpenOption.APPEND);
+        priceStore.getSeries(file.toString());
+        DatasetVersion changed = priceStore.getVersions().get();
+        priceStore.getSeries(file.toString());
+
+        assertTrue(changed.number() > initial.number());
+        assertEquals(changed, priceStore.getVersions().get());
+    }
+
+    @SneakyThrows
+    private PriceStore createPriceStore(Path root) {
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(priceStore, root.toString());
+        return priceStore;
+    }
+
+}
@@ -0,0 +1,65 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import epam.com.khshanovskyi.dto.NormalizedCrypto;
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import lombok.SneakyThrows;
+
+class NormalizedRangeLeaderboardTest {
+
+    @Test
+    @DisplayName("getRanking -> provides ranking for each window and moves entry of the changed symbol")
+    void getRanking_ProvidesRankingForEachWindowAndMovesEntryOfChangedSymbol(@TempDir Path root) throws IOException {
+        Path folder = Files.createDirectory(root.resolve("2021-06"));
+        Files.writeString(folder.resolve("BTC_values.csv"), "timestamp,symbol,price\n1622548800000,BTC,50\n" +
+          "1623672000000,BTC,100\n1623758400000,BTC,120\n1623762000000,BTC,150\n");
+        Path ethFile = Files.writeString(folder.resolve("ETH_values.csv"),
+          "timestamp,symbol,price\n1623758400000,ETH,100\n1623762000000,ETH,200\n");
+        PriceStore priceStore = createPriceStore(root.toString());
+        NormalizedRangeLeaderboard leaderboard = new NormalizedRangeLeaderboard(priceStore);
+
+        assertRanking(leaderboard.getRanking(RankingWindow.CURRENT_MONTH), "BTC", "2.000000", "ETH", "1.000000");
+        assertRanking(leaderboard.getRanking(RankingWindow.LAST_30_DAYS), "BTC", "2.000000", "ETH", "1.000000");
+        assertRanking(leaderboard.getRanking(RankingWindow.LAST_7_DAYS), "ETH", "1.000000", "BTC", "0.500000");
+        assertRanking(leaderboard.getRanking(RankingWindow.LAST_DAY), "ETH", "1.000000", "BTC", "0.250000");
+
+        Files.writeString(ethFile, "1623765600000,ETH,400\n", StandardOpenOption.APPEND);
+        priceStore.reload(ethFile.toString());
+
+        assertRanking(leaderboard.getRanking(RankingWindow.CURRENT_MONTH), "ETH", "3.000000", "BTC", "2.000000");
+        assertEquals(new BigDecimal("400"),
+          leaderboard.getRanking(RankingWindow.LAST_DAY).get(0).crypto().getPrice());
+    }
+
+    private void assertRanking(List<NormalizedCrypto> ranking, String firstName, String firstIndex, String secondName,
+                               String secondIndex) {
+        assertEquals(2, ranking.size());
+        assertEquals(firstName, ranking.get(0).crypto().getName());
+        assertEquals(new BigDecimal(firstIndex), ranking.get(0).index());
+        assertEquals(secondName, ranking.get(1).crypto().getName());
+        assertEquals(new BigDecimal(secondIndex), ranking.get(1).index());
+    }
+
+    @SneakyThrows
+    private PriceStore createPriceStore(String pathToFolderWithFolders) {
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(priceStore, pathToFolderWithFolders);
+        return priceStore;
+    }
+
+}
@@ -0,0 +1,342 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import epam.com.khshanovskyi.dto.Candle;
+import epam.com.khshanovskyi.dto.Crypto;
+import epam.com.khshanovskyi.exception.UnableToFindFileByPathException;
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import epam.com.khshanovskyi.parser.CryptoParser;
+import lombok.SneakyThrows;
+
+class PriceStoreTest {
+
+    private static final String BTC_FILE = "src/test/resources/crypto/2022-01/BTC_values.csv";
+    private static final String FOLDER_WITH_FILES = "src/test/resources/crypto/2022-01";
+
+    private final CryptoParser cryptoParser = new CryptoDtoParser();
+    private PriceStore priceStore;
+
+    @BeforeEach
+    void beforeEach() {
+        priceStore = new PriceStore(cryptoParser);
+    }
+
+    @Test
+    @DisplayName("getSeries -> throws UnableToFindFileByPathException when file is not present")
+    void getSeries_ThrowsUnableToFindFileByPathExceptionWhenFileIsNotPresent() {
+        assertThrows(UnableToFindFileByPathException.class,
+          () -> priceStore.getSeries("src/test/resources/crypto/2022-01/WRONG_values.csv"));
+    }
+
+    @Test
+    @DisplayName("getSeries -> provides the same rows as parser and keeps loaded series")
+    void getSeries_ProvidesTheSameRowsAsParser() {
+        PriceSeries series = priceStore.getSeries(BTC_FILE);
+        List<Crypto> parsed = cryptoParser.parseFromFile(BTC_FILE);
+
+        assertEquals(new SeriesKey("BTC", YearMonth.of(2022, 1)), series.getKey());
+        assertEquals(parsed, series.toCryptos().toList());
+        assertSame(series, priceStore.getSeries(BTC_FILE));
+    }
+
+    @Test
+    @DisplayName("getSeries -> provides indexes of extremes and binary search by timestamp")
+    void getSeries_ProvidesIndexesOfExtremes() {
+        PriceSeries series = priceStore.getSeries(BTC_FILE);
+        List<Crypto> parsed = cryptoParser.parseFromFile(BTC_FILE);
+
+        assertEquals(parsed.stream().map(Crypto::getPrice).max(Comparable::compareTo).orElseThrow(),
+          series.getAggregate().maxPrice().getPrice());
+        assertEquals(parsed.stream().map(Crypto::getPrice).min(Comparable::compareTo).orElseThrow(),
+          series.getAggregate().minPrice().getPrice());
+        assertEquals(0, series.lowerBound(Long.MIN_VALUE));
+        assertEquals(series.size(), series.lowerBound(Long.MAX_VALUE));
+        assertEquals(5, series.lowerBound(series.getTimestamp(5)));
+    }
+
+    @Test
+    @DisplayName("getSeries -> provides indexes of extremes of any range of rows as the linear scan")
+    void getSeries_ProvidesIndexesOfExtremesOfRangeAsLinearScan() {
+        PriceSeries series = priceStore.getSeries(BTC_FILE);
+
+        for (int from = 0; from <= series.size(); from++) {
+            int min = -1;
+            int max = -1;
+            for (int to = from; to <= series.size(); to++) {
+                if (to > from) {
+                    int last = to - 1;
+                    min = min < 0 || series.getPrice(last) < series.getPrice(min) ? last : min;
+                    max = max < 0 || series.getPrice(last) > series.getPrice(max) ? last : max;
+                }
+                assertEquals(min, series.indexOfMinPrice(from, to));
+                assertEquals(max, series.indexOfMaxPrice(from, to));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("getSeries -> provides candles of each resolution with the same values as daily rollups")
+    void getSeries_ProvidesCandlesOfEachResolution() {
+        PriceSeries series = priceStore.getSeries(BTC_FILE);
+        List<Candle> daily = series.getCandles(CandleResolution.DAY, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<DailyRollup> rollups = series.getDailyRollups();
+
+        assertEquals(rollups.size(), daily.size());
+        for (int i = 0; i < rollups.size(); i++) {
+            assertEquals(rollups.get(i).open().getPrice(), daily.get(i).open());
+            assertEquals(rollups.get(i).high().getPrice(), daily.get(i).high());
+            assertEquals(rollups.get(i).low().getPrice(), daily.get(i).low());
+            assertEquals(rollups.get(i).close().getPrice(), daily.get(i).close());
+            assertEquals(rollups.get(i).count(), daily.get(i).count());
+        }
+        for (CandleResolution resolution : CandleResolution.values()) {
+            assertEquals(series.size(), series.getCandles(resolution, Long.MIN_VALUE, Long.MAX_VALUE).stream()
+              .mapToInt(Candle::count)
+              .sum());
+        }
+        long timestamp = series.getTimestamp(5);
+        assertEquals(List.of(CandleResolution.HOUR.getPeriodStart(timestamp, ZoneId.systemDefault())),
+          series.getCandles(CandleResolution.HOUR, timestamp, timestamp).stream()
+            .map(Candle::timestampMilliseconds)
+            .toList());
+    }
+
+    @Test
+    @DisplayName("getSeries -> provides aggregate with the same rows as the scan of the file")
+    void getSeries_ProvidesAggregateOfRows() {
+        PriceAggregate aggregate = priceStore.getSeries(BTC_FILE).getAggregate();
+        List<Crypto> parsed = cryptoParser.parseFromFile(BTC_FILE);
+
+        assertEquals(parsed.size(), aggregate.count());
+        assertEquals(parsed.get(0), aggregate.oldest());
+        assertEquals(parsed.stream().max(Comparator.comparing(Crypto::getTimestampMilliseconds)).orElseThrow(),
+          aggregate.newest());
+        assertEquals(parsed.stream().min(Comparator.comparing(Crypto::getPrice)).orElseThrow(), aggregate.minPrice());
+        assertEquals(parsed.stream().max(Comparator.comparing(Crypto::getPrice)).orElseThrow(), aggregate.maxPrice());
+    }
+
+    @Test
+    @DisplayName("getSeries -> keeps prices with up to 8 digits after the point and rounds longer ones HALF_UP")
+    void getSeries_KeepsPricesWithUpTo8DigitsAndRoundsLongerOnesHalfUp(@TempDir Path root) throws IOException {
+        Path file = Files.writeString(Files.createDirectory(root.resolve("2022-01")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1641009600000,BTC,1.10\n1641013200000,BTC,0.12345678\n" +
+            "1641016800000,BTC,1.123456785\n1641020400000,BTC,1.123456784999\n1641024000000,BTC,0.000000004\n");
+
+        PriceSeries series = priceStore.getSeries(file.toString());
+
+        assertEquals(new BigDecimal("1.10"), series.toPrice(0));
+        assertEquals(new BigDecimal("0.12345678"), series.toPrice(1));
+        assertEquals(new BigDecimal("1.12345679"), series.toPrice(2));
+        assertEquals(new BigDecimal("1.12345678"), series.toPrice(3));
+        assertEquals(new BigDecimal("0.00000000"), series.toPrice(4));
+        assertEquals(4, series.indexOfMinPrice(0, series.size()));
+    }
+
+    @Test
+    @DisplayName("getSeriesFromFolder -> provides series for each file from the folder")
+    void getSeriesFromFolder_ProvidesSeriesForEachFile() {
+        List<PriceSeries> series = priceStore.getSeriesFromFolder(FOLDER_WITH_FILES);
+
+        assertEquals(5, series.size());
+        assertTrue(series.stream().allMatch(priceSeries -> YearMonth.of(2022, 1).equals(priceSeries.getMonth())));
+    }
+
+    @Test
+    @DisplayName("getSeriesFromFolder -> writes snapshot into its own folder and detects stale files by size and time")
+    void getSeriesFromFolder_WritesSnapshotAndDetectsStaleFiles(@TempDir Path root, @TempDir Path snapshots)
+      throws IOException {
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        List<Crypto> parsed = cryptoParser.parseFromFile(BTC_FILE);
+        Path snapshotFolder = snapshots.resolve("crypto-snapshots");
+
+        List<PriceSeries> written = createStoreWithSnapshots(snapshotFolder).getSeriesFromFolder(folder.toString());
+        try (Stream<Path> snapshotFiles = Files.list(snapshotFolder)) {
+            assertEquals(1, snapshotFiles.filter(path -> path.toString().endsWith("-2022-01.snapshot")).count());
+        }
+        try (Stream<Path> rootFiles = Files.list(root)) {
+            assertEquals(List.of(folder), rootFiles.toList());
+        }
+        assertEquals(parsed, written.get(0).toCryptos().toList());
+
+        List<PriceSeries> read = createStoreWithSnapshots(snapshotFolder).getSeriesFromFolder(folder.toString());
+        assertEquals(parsed, read.get(0).toCryptos().toList());
+        assertEquals(file.toString(), read.get(0).getFileName());
+
+        Files.writeString(file, "timestamp,symbol,price\n1641009600000,BTC,1.5\n");
+        List<PriceSeries> reparsed = createStoreWithSnapshots(snapshotFolder).getSeriesFromFolder(folder.toString());
+        assertEquals(1, reparsed.get(0).size());
+    }
+
+    @Test
+    @DisplayName("reload -> merges only appended rows and parses the file again when it is rewritten")
+    void reload_MergesAppendedRowsAndParsesRewrittenFile(@TempDir Path root) throws IOException {
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        PriceSeries loaded = priceStore.getSeries(file.toString());
+
+        Files.writeString(file, "1643673600000,BTC,1.5\n1643677200000,BTC,2.5\n", StandardOpenOption.APPEND);
+        priceStore.reload(file.toString());
+        PriceSeries appended = priceStore.getSeries(file.toString());
+        assertEquals(loaded.size() + 2, appended.size());
+        assertEquals(cryptoParser.parseFromFile(file.toString()), appended.toCryptos().toList());
+        assertEquals(PriceAggregate.of(appended, 0, appended.size()), appended.getAggregate());
+
+        Files.writeString(file, "timestamp,symbol,price\n1641009600000,BTC,3.5\n");
+        priceStore.reload(file.toString());
+        PriceSeries rewritten = priceStore.getSeries(file.toString());
+        assertEquals(1, rewritten.size());
+        assertEquals(new BigDecimal("3.5"), rewritten.toPrice(0));
+    }
+
+    @Test
+    @DisplayName("reload -> extends rollups and candles by appended rows as they are built from the whole file")
+    void reload_ExtendsRollupsAndCandlesByAppendedRows(@TempDir Path root) throws IOException {
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        priceStore.getSeries(file.toString());
+
+        Files.writeString(file, "1643662800000,BTC,40000\n1643662800000,BTC,1\n", StandardOpenOption.APPEND);
+        priceStore.reload(file.toString());
+        Files.writeString(file, "1643666400000,BTC,1\n1643673600000,BTC,2.5\n", StandardOpenOption.APPEND);
+        priceStore.reload(file.toString());
+        PriceSeries appended = priceStore.getSeries(file.toString());
+        PriceSeries parsed = new PriceStore(cryptoParser).getSeries(file.toString());
+
+        assertEquals(parsed.getDailyRollups(), appended.getDailyRollups());
+        for (CandleResolution resolution : CandleResolution.values()) {
+            assertEquals(parsed.getCandles(resolution, Long.MIN_VALUE, Long.MAX_VALUE),
+              appended.getCandles(resolution, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        assertEquals(parsed.indexOfMinPrice(0, parsed.size()), appended.indexOfMinPrice(0, appended.size()));
+    }
+
+    @Test
+    @DisplayName("PriceSeriesBuilder -> keeps rows of the series when it is continued twice")
+    void priceSeriesBuilder_KeepsRowsOfTheSeriesWhenItIsContinuedTwice() {
+        PriceSeries series = priceStore.getSeries(BTC_FILE);
+        PriceSeriesBuilder first = new PriceSeriesBuilder(series);
+        first.accept(1643673600000L, "BTC", 15, 1);
+        PriceSeries firstAppended = first.build();
+        PriceSeriesBuilder second = new PriceSeriesBuilder(series);
+        second.accept(1643677200000L, "BTC", 25, 1);
+        PriceSeries secondAppended = second.build();
+
+        assertEquals(series.size(), secondAppended.size() - 1);
+        assertEquals(new BigDecimal("1.5"), firstAppended.toPrice(series.size()));
+        assertEquals(new BigDecimal("2.5"), secondAppended.toPrice(series.size()));
+        assertEquals(cryptoParser.parseFromFile(BTC_FILE), series.toCryptos().toList());
+        assertTrue(secondAppended.isContinuationOf(series));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1643673600000L, Long.MAX_VALUE / 2})
+    @DisplayName("PriceSeriesBuilder -> sorts rows by timestamp and keeps the order of rows with the same timestamp")
+    void priceSeriesBuilder_SortsRowsByTimestampAndKeepsOrderOfRowsWithTheSameTimestamp(long latest) {
+        PriceSeriesBuilder builder = new PriceSeriesBuilder(new SeriesKey("BTC", YearMonth.of(2022, 1)), BTC_FILE);
+        builder.accept(latest, "BTC", 1, 0);
+        builder.accept(1641009600000L, "BTC", 2, 0);
+        builder.accept(latest, "BTC", 3, 0);
+        builder.accept(1641009600000L, "BTC", 4, 0);
+        builder.accept(-latest, "BTC", 5, 0);
+        PriceSeries series = builder.build();
+
+        assertEquals(List.of(-latest, 1641009600000L, 1641009600000L, latest, latest),
+          IntStream.range(0, series.size()).mapToObj(series::getTimestamp).toList());
+        assertEquals(List.of(5L, 2L, 4L, 1L, 3L), IntStream.range(0, series.size())
+          .mapToObj(index -> series.toPrice(index).longValueExact())
+          .toList());
+    }
+
+    @Test
+    @DisplayName("getSeries -> parses the file once per version and again only when the version is changed")
+    void getSeries_ParsesFileOncePerVersion(@TempDir Path root) throws IOException {
+        setPathToFolder(priceStore, root);
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        PriceSeries loaded = priceStore.getSeries(file.toString());
+        assertSame(loaded, priceStore.getSeries(file.toString()));
+
+        Files.writeString(file, "1643673600000,BTC,1.5\n", StandardOpenOption.APPEND);
+        PriceSeries appended = priceStore.getSeries(file.toString());
+        assertEquals(loaded.size() + 1, appended.size());
+        assertSame(appended, priceStore.getSeries(file.toString()));
+
+        priceStore.refresh(() -> { });
+        assertSame(appended, priceStore.getSeries(file.toString()));
+        Files.delete(file);
+        priceStore.refresh(() -> { });
+        assertThrows(UnableToFindFileByPathException.class, () -> priceStore.getSeries(file.toString()));
+    }
+
+    @Test
+    @DisplayName("refresh -> warm-up sees the refreshed dataset while readers see the previous one until it is done")
+    void refresh_WarmsUpRefreshedDatasetBeforeItIsPublished(@TempDir Path root) throws IOException {
+        setPathToFolder(priceStore, root);
+        Path folder = Files.createDirectory(root.resolve("2022-01"));
+        Path file = Files.copy(Path.of(BTC_FILE), folder.resolve("BTC_values.csv"));
+        PriceSeries loaded = priceStore.getSeries(file.toString());
+        long previousVersion = priceStore.getVersion();
+        Files.writeString(file, "1643673600000,BTC,1.5\n", StandardOpenOption.APPEND);
+        AtomicLong warmedUpVersion = new AtomicLong();
+        AtomicLong readVersion = new AtomicLong();
+
+        priceStore.refresh(() -> {
+            warmedUpVersion.set(priceStore.getVersion());
+            assertEquals(loaded.size() + 1, priceStore.getSeries(file.toString()).size());
+            CompletableFuture.runAsync(() -> readVersion.set(priceStore.getVersion())).join();
+        });
+
+        assertEquals(previousVersion, readVersion.get());
+        assertNotEquals(previousVersion, warmedUpVersion.get());
+        assertEquals(warmedUpVersion.get(), priceStore.getVersion());
+        assertEquals(loaded.size() + 1, priceStore.getSeries(file.toString()).size());
+    }
+
+    @SneakyThrows
+    private void setPathToFolder(PriceStore store, Path root) {
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(store, root.toString());
+    }
+
+    @SneakyThrows
+    private PriceStore createStoreWithSnapshots(Path snapshotFolder) {
+        PriceStore store = new PriceStore(cryptoParser);
+        Field snapshotEnabled = PriceStore.class.getDeclaredField("snapshotEnabled");
+        snapshotEnabled.setAccessible(true);
+        snapshotEnabled.set(store, true);
+        Field snapshotFolderField = PriceStore.class.getDeclaredField("snapshotFolder");
+        snapshotFolderField.setAccessible(true);
+        snapshotFolderField.set(store, snapshotFolder.toString());
+        return store;
+    }
+
+}
@@ -0,0 +1,102 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import epam.com.khshanovskyi.dto.RollingStatistic;
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import lombok.SneakyThrows;
+
+class RollingStatisticsStoreTest {
+
+    private static final int WINDOW = 3;
+    private static final long MAXIMUM_WEIGHT_IN_PRICES = 1_000;
+    private static final BigDecimal TOLERANCE = new BigDecimal("0.000001");
+
+    @Test
+    @DisplayName("getStatistics -> provides the same statistics as the direct calculation before and after append")
+    void getStatistics_ProvidesTheSameStatisticsAsDirectCalculation(@TempDir Path root) throws IOException {
+        Files.writeString(Files.createDirectory(root.resolve("2021-06")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625054400000,BTC,100\n1625058000000,BTC,110.5\n");
+        Path july = Files.writeString(Files.createDirectory(root.resolve("2021-07")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625140800000,BTC,90\n1625144400000,BTC,200\n1625148000000,BTC,150\n");
+        PriceStore priceStore = createPriceStore(root.toString());
+        RollingStatisticsStore store = new RollingStatisticsStore(priceStore, new SymbolRegistry(priceStore),
+          MAXIMUM_WEIGHT_IN_PRICES);
+
+        List<RollingStatistic> statistics = store.getStatistics("BTC", WINDOW, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertStatistics(List.of(100.0, 110.5, 90.0, 200.0, 150.0), statistics);
+
+        Files.writeString(july, "1625151600000,BTC,1000\n1625155200000,BTC,95.25\n", StandardOpenOption.APPEND);
+        priceStore.reload(july.toString());
+
+        statistics = store.getStatistics("BTC", WINDOW, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertStatistics(List.of(100.0, 110.5, 90.0, 200.0, 150.0, 1000.0, 95.25), statistics);
+        assertEquals(List.of(1625144400000L, 1625148000000L), store.getStatistics("BTC", WINDOW, 1625144400000L,
+          1625148000000L).stream().map(RollingStatistic::timestampMilliseconds).toList());
+        assertEquals(statistics.subList(5, 7), store.getStatistics("BTC", WINDOW, 1625151600000L, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("getStatistics -> calculates statistics again in case if they exceed the bound of the store")
+    void getStatistics_CalculatesStatisticsAgainInCaseIfTheyExceedTheBound(@TempDir Path root) throws IOException {
+        Files.writeString(Files.createDirectory(root.resolve("2021-07")).resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1625140800000,BTC,90\n1625144400000,BTC,200\n1625148000000,BTC,150\n");
+        PriceStore priceStore = createPriceStore(root.toString());
+        RollingStatisticsStore store = new RollingStatisticsStore(priceStore, new SymbolRegistry(priceStore), 1);
+
+        assertStatistics(List.of(90.0, 200.0, 150.0), store.getStatistics("BTC", WINDOW, Long.MIN_VALUE,
+          Long.MAX_VALUE));
+        assertStatistics(List.of(90.0, 200.0, 150.0), store.getStatistics("BTC", WINDOW, Long.MIN_VALUE,
+          Long.MAX_VALUE));
+    }
+
+    private void assertStatistics(List<Double> prices, List<RollingStatistic> statistics) {
+        assertEquals(prices.size(), statistics.size());
+        double exponentialMean = prices.get(0);
+        for (int i = 0; i < prices.size(); i++) {
+            RollingStatistic statistic = statistics.get(i);
+            exponentialMean = i == 0 ? exponentialMean : exponentialMean + 2.0 / (WINDOW + 1) *
+              (prices.get(i) - exponentialMean);
+            assertClose(exponentialMean, statistic.exponentialMovingAverage());
+            if (i < WINDOW - 1) {
+                assertNull(statistic.simpleMovingAverage());
+                assertNull(statistic.standardDeviation());
+                continue;
+            }
+            List<Double> window = prices.subList(i - WINDOW + 1, i + 1);
+            double mean = window.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+            double variance = window.stream().mapToDouble(price -> (price - mean) * (price - mean)).sum() / WINDOW;
+            assertClose(mean, statistic.simpleMovingAverage());
+            assertClose(Math.sqrt(variance), statistic.standardDeviation());
+        }
+    }
+
+    private void assertClose(double expected, BigDecimal actual) {
+        BigDecimal difference = BigDecimal.valueOf(expected).subtract(actual).abs().setScale(8, RoundingMode.HALF_UP);
+        assertEquals(-1, difference.compareTo(TOLERANCE), () -> "Expected " + expected + " but was " + actual);
+    }
+
+    @SneakyThrows
+    private PriceStore createPriceStore(String pathToFolderWithFolders) {
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(priceStore, pathToFolderWithFolders);
+        return priceStore;
+    }
+
+}
@@ -0,0 +1,105 @@
+package epam.com.khshanovskyi.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import epam.com.khshanovskyi.exception.UnableToFindFolderByPathException;
+import epam.com.khshanovskyi.parser.CryptoDtoParser;
+import lombok.SneakyThrows;
+
+class SymbolRegistryTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2022, 1);
+    private static final YearMonth DECEMBER = YearMonth.of(2021, 12);
+
+    @Test
+    @DisplayName("getSymbolsOfTheLastPresentedMonth -> provides symbols of the last month and months of each symbol")
+    void getSymbolsOfTheLastPresentedMonth_ProvidesSymbolsAndMonths() {
+        SymbolRegistry symbolRegistry = createSymbolRegistry("src/test/resources/crypto");
+
+        assertEquals(JANUARY, symbolRegistry.getLastPresentedMonth());
+        assertEquals(Set.of("BTC", "DOGE", "ETH", "LTC", "XRP"), symbolRegistry.getSymbolsOfTheLastPresentedMonth());
+        assertEquals(Set.of(YearMonth.of(2021, 11), DECEMBER, JANUARY), symbolRegistry.getMonths("LTC"));
+        assertEquals(Set.of(JANUARY), symbolRegistry.getMonths("BTC"));
+        assertTrue(symbolRegistry.getMonths("WRONG").isEmpty());
+    }
+
+    @Test
+    @DisplayName("getLastPresentedMonth -> throws UnableToFindFolderByPathException when there is no month folder")
+    void getLastPresentedMonth_ThrowsUnableToFindFolderByPathExceptionWhenNoMonth(@TempDir Path root) {
+        SymbolRegistry symbolRegistry = createSymbolRegistry(root.toString());
+
+        assertThrows(UnableToFindFolderByPathException.class, symbolRegistry::getLastPresentedMonth);
+    }
+
+    @Test
+    @DisplayName("getFileName -> provides created and drops deleted files without reading of the folder")
+    void getFileName_ProvidesCreatedAndDropsDeletedFiles(@TempDir Path root) throws IOException {
+        Path file = Files.createFile(Files.createDirectory(root.resolve("2021-12")).resolve("BTC_values.csv"));
+        PriceStore priceStore = createPriceStore(root.toString());
+        SymbolRegistry symbolRegistry = new SymbolRegistry(priceStore);
+        assertEquals(DECEMBER, symbolRegistry.getLastPresentedMonth());
+
+        Path created = Files.createFile(Files.createDirectory(root.resolve("2022-01")).resolve("ETH_values.csv"));
+        priceStore.reload(created.toString());
+        assertEquals(JANUARY, symbolRegistry.getLastPresentedMonth());
+        assertEquals(Optional.of(created.toString()), symbolRegistry.getFileName("ETH", JANUARY));
+
+        Files.delete(file);
+        priceStore.remove(file.toString());
+        assertTrue(symbolRegistry.getMonths("BTC").isEmpty());
+    }
+
+    @Test
+    @DisplayName("getFileName -> provides plain file when the month contains plain and compressed file of the symbol")
+    void getFileName_ProvidesPlainFileWhenMonthContainsPlainAndCompressedFile(@TempDir Path root) throws IOException {
+        Path folder = Files.createDirectory(root.resolve("2021-12"));
+        Path plain = Files.writeString(folder.resolve("BTC_values.csv"),
+          "timestamp,symbol,price\n1638316800000,BTC,1\n");
+        Path compressed = folder.resolve("BTC_values.csv.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            outputStream.write("timestamp,symbol,price\n1638316800000,BTC,2\n".getBytes());
+        }
+        PriceStore priceStore = createPriceStore(root.toString());
+        SymbolRegistry symbolRegistry = new SymbolRegistry(priceStore);
+        assertEquals(Optional.of(plain.toString()), symbolRegistry.getFileName("BTC", DECEMBER));
+
+        priceStore.reload(compressed.toString());
+        assertEquals(Optional.of(plain.toString()), symbolRegistry.getFileName("BTC", DECEMBER));
+        assertEquals(plain.toString(), priceStore.getSeries(plain.toString()).getFileName());
+
+        Files.delete(plain);
+        priceStore.remove(plain.toString());
+        assertEquals(Optional.of(compressed.toString()), symbolRegistry.getFileName("BTC", DECEMBER));
+        assertEquals(Set.of(DECEMBER), symbolRegistry.getMonths("BTC"));
+    }
+
+    private SymbolRegistry createSymbolRegistry(String pathToFolderWithFolders) {
+        return new SymbolRegistry(createPriceStore(pathToFolderWithFolders));
+    }
+
+    @SneakyThrows
+    private PriceStore createPriceStore(String pathToFolderWithFolders) {
+        PriceStore priceStore = new PriceStore(new CryptoDtoParser());
+        Field pathToFolder = PriceStore.class.getDeclaredField("pathToFolder");
+        pathToFolder.setAccessible(true);
+        pathToFolder.set(priceStore, pathToFolderWithFolders);
+        return priceStore;
+    }
+
+}
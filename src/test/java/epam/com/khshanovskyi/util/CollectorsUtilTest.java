@@ -0,0 +1,57 @@
+package epam.com.khshanovskyi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CollectorsUtilTest {
+
+    private static final List<Integer> VALUES = List.of(7, 3, 9, 1, 8, 3, 5, 10, 2, 6);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 10, 20})
+    @DisplayName("toTopK -> provides the same values as the full sort with limit")
+    void toTopK_ProvidesTheSameValuesAsSortWithLimit(int limit) {
+        Comparator<Integer> comparator = Comparator.reverseOrder();
+
+        assertEquals(VALUES.stream().sorted(comparator).limit(limit).toList(),
+          VALUES.stream().collect(CollectorsUtil.toTopK(comparator, limit)));
+        assertEquals(VALUES.stream().sorted().limit(limit).toList(),
+          VALUES.parallelStream().collect(CollectorsUtil.toTopK(Comparator.naturalOrder(), limit)));
+    }
+
+    @Test
+    @DisplayName("toTopK -> provides the first values of the big stream")
+    void toTopK_ProvidesTheFirstValuesOfBigStream() {
+        assertEquals(List.of(99_999, 99_998, 99_997),
+          IntStream.range(0, 100_000).boxed().collect(CollectorsUtil.toTopK(Comparator.reverseOrder(), 3)));
+    }
+
+    @Test
+    @DisplayName("toTopK -> keeps encounter order of equal elements")
+    void toTopK_KeepsEncounterOrderOfEqualElements() {
+        List<String> values = List.of("b1", "a1", "b2", "c1", "a2", "b3", "a3");
+        Comparator<String> comparator = Comparator.comparing(value -> value.charAt(0));
+
+        assertEquals(List.of("a1", "a2", "a3", "b1"),
+          values.stream().collect(CollectorsUtil.toTopK(comparator, 4)));
+        assertEquals(List.of("a1", "a2", "a3", "b1"),
+          values.parallelStream().collect(CollectorsUtil.toTopK(comparator, 4)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    @DisplayName("toTopK -> throws IllegalArgumentException when limit is less than 1")
+    void toTopK_ThrowsIllegalArgumentExceptionWhenLimitIsLessThanOne(int limit) {
+        assertThrows(IllegalArgumentException.class, () -> CollectorsUtil.toTopK(Comparator.naturalOrder(), limit));
+    }
+
+}
@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -87,6 +92,25 @@ class FilesUtilTest {
         assertTrue(fileNamesWithPath.contains("src\\test\\resources\\crypto\\2021-11\\ETH_values.csv"));
     }
 
+    @Test
+    @DisplayName("getFileNamesWithPath -> provides plain and compressed Crypto info files only")
+    void getFileNamesWithPath_ProvidesPlainAndCompressedFilesOnly(@TempDir Path folder) throws IOException {
+        for (String fileName : List.of("BTC_values.csv", "ETH_values.csv.gz", "LTC_values.csv.deflate", "notes.txt")) {
+            Files.createFile(folder.resolve(fileName));
+        }
+
+        assertEquals(List.of("BTC", "ETH", "LTC"),
+          FilesUtil.getCryptoNamesFromFileNames(folder.toString()).stream().sorted().toList());
+        assertEquals(3, FilesUtil.getFileNamesWithPath(folder.toString()).size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"BTC_values.csv, false", "BTC_values.csv.gz, true", "crypto/2021-11/BTC_values.csv.deflate, true"})
+    @DisplayName("isCompressedFile -> check if result is correct")
+    void isCompressedFile_ProvidesResultByExtension(String fileName, boolean compressed) {
+        assertEquals(compressed, FilesUtil.isCompressedFile(fileName));
+    }
+
     @ParameterizedTest
     @NullSource
     @EmptySource
@@ -0,0 +1,95 @@
+package epam.com.khshanovskyi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 4;
+
+    @Test
+    @DisplayName("execute -> concurrent callers of the same key wait for the one computation")
+    void execute_CoalescesConcurrentCallersOfTheSameKey() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                return computations.incrementAndGet();
+            }));
+            waitUntil(() -> singleFlight.getExecutionCount() == 1);
+            List<Future<Integer>> followers = IntStream.range(1, CALLERS)
+              .mapToObj(i -> executor.submit(() -> singleFlight.execute("key", computations::incrementAndGet)))
+              .toList();
+            waitUntil(() -> singleFlight.getCoalescedCount() == CALLERS - 1);
+            release.countDown();
+
+            assertEquals(1, leader.get());
+            for (Future<Integer> follower : followers) {
+                assertEquals(1, follower.get());
+            }
+            assertEquals(1, computations.get());
+            assertEquals(2, singleFlight.execute("key", computations::incrementAndGet));
+            assertEquals(2, singleFlight.getExecutionCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("execute -> exception of the computation is thrown to all waiting callers")
+    void execute_ThrowsExceptionOfComputationToAllCallers() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        IllegalStateException exception = new IllegalStateException("Unable to compute");
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw exception;
+            }));
+            waitUntil(() -> singleFlight.getExecutionCount() == 1);
+            Future<Integer> follower = executor.submit(() -> singleFlight.execute("key", () -> 1));
+            waitUntil(() -> singleFlight.getCoalescedCount() == 1);
+            release.countDown();
+
+            assertSame(exception, assertThrows(ExecutionException.class, leader::get).getCause());
+            assertSame(exception, assertThrows(ExecutionException.class, follower::get).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+}